@@ -0,0 +1,70 @@
+package com.example.Task.Manage.bench;
+
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.TaskManageApplication;
+import com.example.Task.Manage.model.Task;
+import com.example.Task.Manage.model.User;
+import com.example.Task.Manage.repository.TaskRepository;
+import com.example.Task.Manage.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Non-web application context over a private in-memory H2, seeded with one owner holding {@code taskCount}
+ * tasks (fixed seed, so every run sees the same data) plus a second owner to keep ownership predicates honest.
+ */
+@State(Scope.Benchmark)
+public class AppState {
+
+    @Param({"10000"})
+    public int taskCount;
+
+    public ConfigurableApplicationContext context;
+    public Long ownerId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(TaskManageApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "app.jwt.revocation.snapshotFile=",
+                        "logging.level.root=WARN")
+                .run();
+        UserRepository users = context.getBean(UserRepository.class);
+        TaskRepository tasks = context.getBean(TaskRepository.class);
+
+        User owner = users.save(User.builder().email("bench@example.com").passwordHash("x").name("Bench").build());
+        User other = users.save(User.builder().email("other@example.com").passwordHash("x").name("Other").build());
+        ownerId = owner.getId();
+
+        Random random = new Random(42);
+        List<Task> chunk = new ArrayList<>();
+        for (int i = 0; i < taskCount * 2; i++) {
+            chunk.add(Task.builder()
+                    .title("Task " + i)
+                    .description("Description of task " + i + " with some realistic length to it")
+                    .status(random.nextInt(3) == 0 ? TaskStatus.DONE : TaskStatus.INPROGRESS)
+                    .owner(i % 2 == 0 ? owner : other)
+                    .build());
+            if (chunk.size() == 1000) {
+                tasks.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        tasks.saveAll(chunk);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.Task.Manage.bench;
+
+import com.example.Task.Manage.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token generation (login/refresh), and cold vs warm token verification: a fresh parser per call
+ * (the old behaviour), the shared parser (full HMAC + JSON parse on every call) and a hit in the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtUtils jwtUtils;
+    private Key key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 900_000L, 604_800_000L, 10_000L);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = jwtUtils.generateAccessToken(42L, "bench@example.com");
+        jwtUtils.verify(token);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtils.generateAccessToken(42L, "bench@example.com");
+    }
+
+    @Benchmark
+    public Claims parserPerCall() {
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims sharedParserCold() {
+        return jwtUtils.parse(token).getBody();
+    }
+
+    @Benchmark
+    public Claims verifiedCacheWarm() {
+        return jwtUtils.verify(token);
+    }
+}
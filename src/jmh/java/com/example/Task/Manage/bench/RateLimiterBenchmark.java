@@ -0,0 +1,86 @@
+package com.example.Task.Manage.bench;
+
+import com.example.Task.Manage.Enum.RateLimitKey;
+import com.example.Task.Manage.config.RateLimitProperties;
+import com.example.Task.Manage.security.AuthenticatedUser;
+import com.example.Task.Manage.security.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RateLimiter.tryAcquire} as the filter calls it on every request, from 8 threads: a user-keyed
+ * {@code /tasks/**} rule, an IP-keyed login rule over 4096 client addresses, and a path no rule matches.
+ * Rules are the default set with buckets large enough never to reject, so this is the admitted-request cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final int ADDRESSES = 4096;
+
+    private RateLimiter limiter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Duration refill = Duration.ofNanos(1);
+        int capacity = 1_000_000_000;
+        limiter = new RateLimiter(new RateLimitProperties(true, Duration.ofMinutes(1), List.of(
+                new RateLimitProperties.Rule("login", "/auth/login", List.of("POST"), RateLimitKey.IP, capacity, refill),
+                new RateLimitProperties.Rule("register", "/auth/register", List.of("POST"), RateLimitKey.IP, capacity, refill),
+                new RateLimitProperties.Rule("tasks-write", "/tasks/**", List.of("POST", "PUT", "DELETE"), RateLimitKey.USER, capacity, refill),
+                new RateLimitProperties.Rule("tasks-read", "/tasks/**", List.of(), RateLimitKey.USER, capacity, refill))));
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        MockHttpServletRequest taskRead;
+        MockHttpServletRequest login;
+        MockHttpServletRequest unmatched;
+        String[] addresses;
+        int next;
+
+        @Setup
+        public void setUp(ThreadParams thread) {
+            int id = thread.getThreadIndex();
+            // SecurityContextHolder is thread-local, and so is this state.
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    new AuthenticatedUser((long) id, "bench-" + id + "@example.com"), null, AuthorityUtils.NO_AUTHORITIES));
+            taskRead = new MockHttpServletRequest("GET", "/tasks/42");
+            login = new MockHttpServletRequest("POST", "/auth/login");
+            unmatched = new MockHttpServletRequest("GET", "/h2-console/login.do");
+            addresses = new String[ADDRESSES];
+            for (int i = 0; i < ADDRESSES; i++) {
+                addresses[i] = "10." + id + "." + (i >> 8) + "." + (i & 0xff);
+            }
+        }
+    }
+
+    @Benchmark
+    public long userKeyedRule(Client client) {
+        return limiter.tryAcquire(client.taskRead);
+    }
+
+    @Benchmark
+    public long ipKeyedRule(Client client) {
+        client.login.setRemoteAddr(client.addresses[client.next++ & (ADDRESSES - 1)]);
+        return limiter.tryAcquire(client.login);
+    }
+
+    @Benchmark
+    public long noMatchingRule(Client client) {
+        return limiter.tryAcquire(client.unmatched);
+    }
+}
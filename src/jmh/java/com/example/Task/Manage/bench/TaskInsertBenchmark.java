@@ -0,0 +1,112 @@
+package com.example.Task.Manage.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput for a 10k-task import, replaying the JDBC traffic Hibernate produces for each id strategy:
+ * IDENTITY inserts one row per statement and reads the generated key back; the pooled sequence fetches one
+ * sequence value per {@code allocationSize} rows and sends inserts in batches of 50 ({@code hibernate.jdbc.batch_size}).
+ * Runs against in-process H2, so it understates the gap on a networked database. Scores are rows per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TaskInsertBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    @Param({"1", "50", "500"})
+    public int allocationSize;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:insert-bench;MODE=PostgreSQL", "sa", "");
+        try (Statement s = connection.createStatement()) {
+            s.execute("create table tasks_identity (id bigint generated by default as identity primary key, "
+                    + "title varchar(255), description varchar(255), status varchar(20), user_id bigint)");
+            s.execute("create table tasks_pooled (id bigint primary key, "
+                    + "title varchar(255), description varchar(255), status varchar(20), user_id bigint)");
+            s.execute("create sequence tasks_bench_seq start with 1 increment by " + allocationSize);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException {
+        try (Statement s = connection.createStatement()) {
+            s.execute("truncate table tasks_identity");
+            s.execute("truncate table tasks_pooled");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long identity() throws SQLException {
+        long last = 0;
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into tasks_identity (title, description, status, user_id) values (?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ROWS; i++) {
+                bind(insert, 1, i);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    last = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long pooledSequence() throws SQLException {
+        long hi = 0;
+        long next = 1;
+        connection.setAutoCommit(false);
+        try (PreparedStatement nextval = connection.prepareStatement("select nextval('tasks_bench_seq')");
+             PreparedStatement insert = connection.prepareStatement(
+                     "insert into tasks_pooled (id, title, description, status, user_id) values (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                if (next > hi) {
+                    try (ResultSet rs = nextval.executeQuery()) {
+                        rs.next();
+                        hi = rs.getLong(1);
+                    }
+                    next = hi - allocationSize + 1;
+                }
+                insert.setLong(1, next++);
+                bind(insert, 2, i);
+                insert.addBatch();
+                if ((i + 1) % JDBC_BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return next;
+    }
+
+    private static void bind(PreparedStatement insert, int from, int i) throws SQLException {
+        insert.setString(from, "Imported task " + i);
+        insert.setString(from + 1, "Imported from the onboarding job");
+        insert.setString(from + 2, i % 3 == 0 ? "DONE" : "INPROGRESS");
+        insert.setLong(from + 3, 1L);
+    }
+}
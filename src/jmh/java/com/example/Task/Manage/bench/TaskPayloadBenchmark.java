@@ -0,0 +1,98 @@
+package com.example.Task.Manage.bench;
+
+import com.example.Task.Manage.DTOs.Response.TaskPageResponse;
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding one {@code GET /tasks} page of {@code size} tasks the ways a client can receive it: JSON, Smile, and
+ * either one gzipped as {@code server.compression} does. Writers are built once, like in {@code TaskListCache}.
+ * Scores are per page; encoded sizes for the seeded pages are listed in the README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TaskPayloadBenchmark {
+
+    @Param({"50", "200", "1000"})
+    public int size;
+
+    private TaskPageResponse page;
+    private ObjectWriter jsonWriter;
+    private ObjectWriter smileWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Instant base = Instant.parse("2024-10-17T10:00:00Z");
+        List<TaskResponse> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new TaskResponse(
+                    1_000L + i,
+                    "Task " + i,
+                    random.nextInt(4) == 0 ? null : "Description of task " + i + " with some realistic length to it",
+                    random.nextInt(3) == 0 ? TaskStatus.DONE : TaskStatus.INPROGRESS,
+                    (long) random.nextInt(5),
+                    base.plusMillis(random.nextInt(86_400_000))));
+        }
+        page = new TaskPageResponse(items, 1_000L + size);
+
+        // JsonMapper refuses copyWith(SmileFactory), so each format gets a mapper from its own builder.
+        jsonWriter = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(TaskPageResponse.class);
+        smileWriter = SmileMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(TaskPageResponse.class);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return jsonWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] smile() throws IOException {
+        return smileWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        return gzip(jsonWriter.writeValueAsBytes(page));
+    }
+
+    @Benchmark
+    public byte[] smileGzip() throws IOException {
+        return gzip(smileWriter.writeValueAsBytes(page));
+    }
+
+    // Cached pages are stored encoded and compressed per response, so the benchmark compresses finished bytes too.
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(body);
+        }
+        return out.toByteArray();
+    }
+}
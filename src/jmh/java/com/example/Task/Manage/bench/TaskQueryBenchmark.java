@@ -0,0 +1,91 @@
+package com.example.Task.Manage.bench;
+
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The repository queries behind the task read endpoints, run against {@link AppState}'s seeded H2 in read-only
+ * transactions: keyset pages (plain and by status), a single owned task, a search result id lookup and a delta
+ * sync page. Ids are drawn from a fixed-seed sequence, so every run asks for the same rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TaskQueryBenchmark {
+
+    private static final int PAGE = 50;
+    private static final int SAMPLES = 1024;
+
+    private TaskRepository tasks;
+    private TransactionTemplate readOnly;
+    private Long ownerId;
+    private TaskResponse[] samples;
+    private List<List<Long>> idSets;
+    private Instant horizon;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(AppState app) {
+        tasks = app.context.getBean(TaskRepository.class);
+        readOnly = new TransactionTemplate(app.context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        ownerId = app.ownerId;
+
+        List<TaskResponse> rows = readOnly.execute(status -> tasks.findPage(ownerId, 0L, Limit.of(app.taskCount)));
+        List<Long> ids = rows.stream().map(TaskResponse::id).toList();
+        Random random = new Random(42);
+        samples = new TaskResponse[SAMPLES];
+        idSets = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = rows.get(random.nextInt(rows.size()));
+            idSets.add(random.ints(20, 0, ids.size()).mapToObj(ids::get).toList());
+        }
+        horizon = Instant.now().plusSeconds(86_400);
+    }
+
+    @Benchmark
+    public List<TaskResponse> page() {
+        long cursor = samples[next++ & (SAMPLES - 1)].id();
+        return readOnly.execute(status -> tasks.findPage(ownerId, cursor, Limit.of(PAGE)));
+    }
+
+    @Benchmark
+    public List<TaskResponse> pageByStatus() {
+        long cursor = samples[next++ & (SAMPLES - 1)].id();
+        return readOnly.execute(status -> tasks.findPageByStatus(ownerId, TaskStatus.DONE, cursor, Limit.of(PAGE)));
+    }
+
+    @Benchmark
+    public Optional<TaskResponse> singleTask() {
+        long id = samples[next++ & (SAMPLES - 1)].id();
+        return readOnly.execute(status -> tasks.findResponse(ownerId, id));
+    }
+
+    @Benchmark
+    public List<TaskResponse> byIds() {
+        List<Long> ids = idSets.get(next++ & (SAMPLES - 1));
+        return readOnly.execute(status -> tasks.findResponses(ownerId, ids));
+    }
+
+    @Benchmark
+    public List<TaskResponse> changedSince() {
+        TaskResponse since = samples[next++ & (SAMPLES - 1)];
+        return readOnly.execute(status ->
+                tasks.findChangedSince(ownerId, since.updatedAt(), since.id(), horizon, Limit.of(PAGE)));
+    }
+}
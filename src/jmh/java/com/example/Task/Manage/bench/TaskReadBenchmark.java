@@ -0,0 +1,63 @@
+package com.example.Task.Manage.bench;
+
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.model.Task;
+import com.example.Task.Manage.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One 200-row page read through managed entities + toDto (the old list path) versus the TaskResponse
+ * constructor projection in a read-only transaction. Run with {@code -prof gc}: gc.alloc.rate.norm is bytes per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TaskReadBenchmark {
+
+    private static final int PAGE = 200;
+
+    private TaskRepository tasks;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private Long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp(AppState app) {
+        tasks = app.context.getBean(TaskRepository.class);
+        entityManager = app.context.getBean(EntityManager.class);
+        PlatformTransactionManager txManager = app.context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(txManager);
+        readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+        ownerId = app.ownerId;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE)
+    public List<TaskResponse> managedEntities() {
+        return readWrite.execute(status -> entityManager
+                .createQuery("select t from Task t where t.owner.id = :ownerId and t.id > 0 order by t.id", Task.class)
+                .setParameter("ownerId", ownerId)
+                .setMaxResults(PAGE)
+                .getResultList().stream()
+                .map(t -> new TaskResponse(t.getId(), t.getTitle(), t.getDescription(), t.getStatus(), t.getVersion(), t.getUpdatedAt()))
+                .toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE)
+    public List<TaskResponse> readOnlyProjection() {
+        return readOnly.execute(status -> tasks.findPage(ownerId, 0L, Limit.of(PAGE)));
+    }
+}
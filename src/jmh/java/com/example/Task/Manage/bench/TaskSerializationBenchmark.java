@@ -0,0 +1,80 @@
+package com.example.Task.Manage.bench;
+
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.model.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response building for lists of {@code size} tasks: the entity-to-DTO mapping {@code TaskService} does, Jackson
+ * writing the DTO list with the application's date settings, and both together. Scores are per list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TaskSerializationBenchmark {
+
+    @Param({"10", "200", "5000"})
+    public int size;
+
+    private List<Task> entities;
+    private List<TaskResponse> responses;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Instant base = Instant.parse("2024-10-17T10:00:00Z");
+        entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entities.add(Task.builder()
+                    .id(1_000L + i)
+                    .title("Task " + i)
+                    .description(random.nextInt(4) == 0 ? null : "Description of task " + i + " with some realistic length to it")
+                    .status(random.nextInt(3) == 0 ? TaskStatus.DONE : TaskStatus.INPROGRESS)
+                    .version(random.nextInt(5))
+                    .updatedAt(base.plusMillis(random.nextInt(86_400_000)))
+                    .build());
+        }
+        responses = toDto();
+        writer = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(List.class);
+    }
+
+    @Benchmark
+    public List<TaskResponse> mapToDto() {
+        return toDto();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(toDto());
+    }
+
+    private List<TaskResponse> toDto() {
+        return entities.stream()
+                .map(t -> new TaskResponse(t.getId(), t.getTitle(), t.getDescription(), t.getStatus(), t.getVersion(), t.getUpdatedAt()))
+                .toList();
+    }
+}
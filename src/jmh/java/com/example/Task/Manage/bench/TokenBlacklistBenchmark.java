@@ -0,0 +1,80 @@
+package com.example.Task.Manage.bench;
+
+import com.example.Task.Manage.security.TokenBlacklistService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code isRevoked} on every authenticated request: 8 threads looking up a mix of revoked and unknown ids,
+ * alone and next to a thread that keeps revoking (logout traffic). The store holds {@code revoked} ids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TokenBlacklistBenchmark {
+
+    private static final int LOOKUP_IDS = 4096;
+
+    @Param({"100000"})
+    public int revoked;
+
+    private TokenBlacklistService blacklist;
+    private String[] lookups;
+    private long expiresAt;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        blacklist = new TokenBlacklistService(revoked * 2L, 604_800_000L, 30_000L, "");
+        expiresAt = System.currentTimeMillis() + 3_600_000L;
+        SplittableRandom random = new SplittableRandom(42);
+        String[] ids = new String[revoked];
+        for (int i = 0; i < revoked; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong()).toString();
+            blacklist.revoke(ids[i], expiresAt);
+        }
+        // One lookup in ten hits a revoked id, the rest are live tokens.
+        lookups = new String[LOOKUP_IDS];
+        for (int i = 0; i < LOOKUP_IDS; i++) {
+            lookups[i] = i % 10 == 0 ? ids[random.nextInt(revoked)] : new UUID(random.nextLong(), random.nextLong()).toString();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+        long revokedSeq;
+
+        @Setup
+        public void setUp(ThreadParams thread) {
+            next = thread.getThreadIndex() * 997;
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean lookup(Cursor cursor) {
+        return blacklist.isRevoked(lookups[cursor.next++ & (LOOKUP_IDS - 1)]);
+    }
+
+    @Benchmark
+    @Group("withRevocations")
+    @GroupThreads(7)
+    public boolean lookupWhileRevoking(Cursor cursor) {
+        return blacklist.isRevoked(lookups[cursor.next++ & (LOOKUP_IDS - 1)]);
+    }
+
+    @Benchmark
+    @Group("withRevocations")
+    @GroupThreads(1)
+    public void revoke(Cursor cursor) {
+        // Bounded id space: once it wraps, revoking is a no-op put and the store size stays fixed.
+        blacklist.revoke("bench-" + (cursor.revokedSeq++ % revoked), expiresAt);
+    }
+}
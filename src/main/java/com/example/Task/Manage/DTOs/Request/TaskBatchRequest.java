@@ -0,0 +1,13 @@
+package com.example.Task.Manage.DTOs.Request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TaskBatchRequest(
+        @Size(max = 1000) List<@Valid @NotNull TaskRequest> creates,
+        @Size(max = 1000) List<@Valid @NotNull TaskStatusChange> updates,
+        @Size(max = 1000) List<@NotNull Long> deletes
+) {}
@@ -2,9 +2,10 @@ package com.example.Task.Manage.DTOs.Request;
 
 import com.example.Task.Manage.Enum.TaskStatus;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 public record TaskRequest(
-        @NotBlank String title,
-        String description,
+        @NotBlank @Size(max = 255) String title,
+        @Size(max = 255) String description,
         TaskStatus status
 ) {}
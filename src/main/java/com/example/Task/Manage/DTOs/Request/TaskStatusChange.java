@@ -0,0 +1,6 @@
+package com.example.Task.Manage.DTOs.Request;
+
+import com.example.Task.Manage.Enum.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+
+public record TaskStatusChange(@NotNull Long id, @NotNull TaskStatus status) {}
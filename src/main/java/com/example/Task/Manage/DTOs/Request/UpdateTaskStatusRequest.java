@@ -3,4 +3,5 @@ package com.example.Task.Manage.DTOs.Request;
 import com.example.Task.Manage.Enum.TaskStatus;
 import jakarta.validation.constraints.NotNull;
 
-public record UpdateTaskStatusRequest(@NotNull TaskStatus status) {}
+// version is optional: when present the update only applies if the task is still at that version.
+public record UpdateTaskStatusRequest(@NotNull TaskStatus status, Long version) {}
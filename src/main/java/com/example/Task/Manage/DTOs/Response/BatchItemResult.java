@@ -0,0 +1,8 @@
+package com.example.Task.Manage.DTOs.Response;
+
+import com.example.Task.Manage.Enum.BatchItemStatus;
+
+public record BatchItemResult(
+        Long id,
+        BatchItemStatus status
+) {}
@@ -0,0 +1,6 @@
+package com.example.Task.Manage.DTOs.Response;
+
+public record ImportError(
+        long line,
+        String message
+) {}
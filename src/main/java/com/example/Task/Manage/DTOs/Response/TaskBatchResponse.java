@@ -0,0 +1,9 @@
+package com.example.Task.Manage.DTOs.Response;
+
+import java.util.List;
+
+public record TaskBatchResponse(
+        List<TaskResponse> created,
+        List<BatchItemResult> updated,
+        List<BatchItemResult> deleted
+) {}
@@ -0,0 +1,10 @@
+package com.example.Task.Manage.DTOs.Response;
+
+import java.util.List;
+
+public record TaskChangesResponse(
+        List<TaskResponse> changed,
+        List<Long> deleted,
+        String nextToken,
+        boolean hasMore
+) {}
@@ -0,0 +1,12 @@
+package com.example.Task.Manage.DTOs.Response;
+
+import java.util.List;
+
+public record TaskImportResponse(
+        long imported,
+        long failed,
+        List<ImportError> errors,
+        boolean errorsTruncated,
+        long elapsedMillis,
+        long rowsPerSecond
+) {}
@@ -0,0 +1,8 @@
+package com.example.Task.Manage.DTOs.Response;
+
+import java.util.List;
+
+public record TaskPageResponse(
+        List<TaskResponse> items,
+        Long nextCursor
+) {}
@@ -3,9 +3,13 @@ package com.example.Task.Manage.DTOs.Response;
 
 import com.example.Task.Manage.Enum.TaskStatus;
 
+import java.time.Instant;
+
 public record TaskResponse(
         Long id,
         String title,
         String description,
-        TaskStatus status
+        TaskStatus status,
+        Long version,
+        Instant updatedAt
 ) {}
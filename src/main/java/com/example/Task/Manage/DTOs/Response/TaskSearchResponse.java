@@ -0,0 +1,9 @@
+package com.example.Task.Manage.DTOs.Response;
+
+import java.util.List;
+
+public record TaskSearchResponse(
+        List<TaskResponse> items,
+        long total,
+        Integer nextOffset
+) {}
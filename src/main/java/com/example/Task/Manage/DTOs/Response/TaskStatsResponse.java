@@ -0,0 +1,10 @@
+package com.example.Task.Manage.DTOs.Response;
+
+import com.example.Task.Manage.Enum.TaskStatus;
+
+import java.util.Map;
+
+public record TaskStatsResponse(
+        Map<TaskStatus, Long> counts,
+        long total
+) {}
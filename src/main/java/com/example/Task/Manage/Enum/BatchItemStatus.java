@@ -0,0 +1,5 @@
+package com.example.Task.Manage.Enum;
+
+public enum BatchItemStatus {
+    UPDATED, DELETED, NOT_FOUND
+}
@@ -0,0 +1,43 @@
+package com.example.Task.Manage.Enum;
+
+import lombok.Getter;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+/** Wire formats for JSON-shaped responses. Smile is Jackson's binary JSON: same structure, smaller and faster. */
+@Getter
+public enum PayloadFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile"));
+
+    private final MediaType mediaType;
+
+    PayloadFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * The format the {@code Accept} header ranks highest by quality, among those it names explicitly; a format
+     * listed with {@code q=0} is refused. JSON for wildcards, unknown or missing headers.
+     */
+    public static PayloadFormat fromAccept(String accept) {
+        if (accept == null || accept.isBlank()) return JSON;
+        try {
+            List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+            // Highest quality first; equal qualities keep the header's order.
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType type : accepted) {
+                if (type.getQualityValue() == 0) continue;
+                if (type.equalsTypeAndSubtype(SMILE.mediaType)) return SMILE;
+                if (type.equalsTypeAndSubtype(JSON.mediaType)) return JSON;
+            }
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+            // A malformed or oversized Accept header gets the default rather than an error.
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.Task.Manage.Enum;
+
+public enum RateLimitKey {
+    /** Authenticated user's email; requests without a user fall back to the client IP. */
+    USER,
+    IP
+}
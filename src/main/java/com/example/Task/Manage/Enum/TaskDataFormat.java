@@ -0,0 +1,35 @@
+package com.example.Task.Manage.Enum;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+@Getter
+public enum TaskDataFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    TaskDataFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static TaskDataFormat parse(String value) {
+        for (TaskDataFormat f : values()) {
+            if (f.extension.equalsIgnoreCase(value)) return f;
+        }
+        throw new IllegalArgumentException("Unsupported format: " + value);
+    }
+
+    public static TaskDataFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType type = MediaType.parseMediaType(contentType);
+            for (TaskDataFormat f : values()) {
+                if (f.mediaType.isCompatibleWith(type)) return f;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.Task.Manage.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine caches configured by {@code spring.cache.*}. Caches listed in {@code spring.cache.cache-names}
+ * are created at startup, so with {@code recordStats} their hit/miss counts are published as {@code cache.*} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+}
@@ -0,0 +1,53 @@
+package com.example.Task.Manage.config;
+
+import com.example.Task.Manage.model.PooledSequenceGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration path from IDENTITY ids: rows inserted before the switch to pooled sequences may already
+ * use ids the sequence would hand out. On startup each sequence is moved past {@code max(id)} if,
+ * and only if, it is behind; a sequence that is already ahead is never moved back.
+ */
+@Slf4j
+@Component
+public class IdSequenceAligner {
+
+    private final JdbcTemplate jdbc;
+    private final int allocationSize;
+
+    // The EntityManagerFactory dependency makes this run after Hibernate has created/updated the schema.
+    public IdSequenceAligner(EntityManagerFactory entityManagerFactory,
+                             JdbcTemplate jdbc,
+                             @Value("${spring.jpa.properties." + PooledSequenceGenerator.ALLOCATION_SIZE_SETTING + ":"
+                                     + PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE + "}") int allocationSize) {
+        this.jdbc = jdbc;
+        this.allocationSize = allocationSize;
+    }
+
+    @PostConstruct
+    void align() {
+        align("users", "users_seq");
+        align("tasks", "tasks_seq");
+    }
+
+    private void align(String table, String sequence) {
+        try {
+            long maxId = jdbc.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            long next = jdbc.queryForObject("select nextval('" + sequence + "')", Long.class);
+            // The pooled optimizer hands out the block (next - allocationSize, next].
+            if (next - allocationSize < maxId) {
+                long restart = maxId + allocationSize;
+                jdbc.execute("alter sequence " + sequence + " restart with " + restart);
+                log.info("Moved {} to {} (max {}.id = {})", sequence, restart, table, maxId);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not align {} with {}: {}", sequence, table, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.Task.Manage.config;
+
+import com.example.Task.Manage.Enum.SqlBudgetMode;
+import com.example.Task.Manage.metrics.ServiceMetricsAspect;
+import com.example.Task.Manage.metrics.SqlStatementCounter;
+import com.example.Task.Manage.metrics.SqlStatementMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class MetricsConfig {
+
+    // Route templates are bounded already; this only guards against a mapping that leaks raw paths.
+    private static final int MAX_URI_TAGS = 100;
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspector(SqlStatementCounter counter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(
+            SqlStatementCounter counter, MeterRegistry registry,
+            @Value("${app.sql.budget.mode:LOG}") SqlBudgetMode mode,
+            @Value("${app.sql.budget.default:10}") int defaultBudget,
+            @Value("${app.sql.budget.repeatedSelectThreshold:5}") int repeatedSelectThreshold) {
+        FilterRegistrationBean<SqlStatementMetricsFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatementMetricsFilter(counter, registry, mode, defaultBudget, repeatedSelectThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public MeterFilter sqlStatementUriLimit() {
+        return MeterFilter.maximumAllowableTags("http.server.sql.statements", "uri", MAX_URI_TAGS, MeterFilter.deny());
+    }
+
+    @Bean
+    public ServiceMetricsAspect serviceMetricsAspect(MeterRegistry registry) {
+        return new ServiceMetricsAspect(registry);
+    }
+}
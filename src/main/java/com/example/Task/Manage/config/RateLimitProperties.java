@@ -0,0 +1,39 @@
+package com.example.Task.Manage.config;
+
+import com.example.Task.Manage.Enum.RateLimitKey;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code app.ratelimit.*}: token-bucket rules, checked in order; the first rule whose path pattern and method
+ * match a request applies, and requests matching no rule are not limited.
+ */
+@ConfigurationProperties("app.ratelimit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1m") Duration sweepInterval,
+        List<Rule> rules
+) {
+    public RateLimitProperties {
+        rules = rules == null ? List.of() : List.copyOf(rules);
+    }
+
+    /**
+     * @param path        Spring path pattern, e.g. {@code /tasks/**}
+     * @param methods     HTTP methods the rule applies to; empty for all
+     * @param capacity    burst size: requests allowed back to back from a full bucket
+     * @param refillEvery time to earn back one request, so the sustained rate is one per {@code refillEvery}
+     */
+    public record Rule(
+            String name,
+            String path,
+            @DefaultValue List<String> methods,
+            @DefaultValue("USER") RateLimitKey key,
+            int capacity,
+            Duration refillEvery
+    ) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.Task.Manage.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Warns at startup when an index the task queries rely on is missing, e.g. on a database whose schema was not
+ * created by the migrations. An index counts when its leading columns match; its name does not matter.
+ */
+@Slf4j
+@Component
+public class SchemaIndexCheck {
+
+    private static final Map<String, List<List<String>>> REQUIRED = new LinkedHashMap<>();
+
+    static {
+        REQUIRED.put("tasks", List.of(
+                List.of("user_id", "id"),
+                List.of("user_id", "status", "id"),
+                List.of("user_id", "updated_at", "id")));
+        REQUIRED.put("task_tombstones", List.of(
+                List.of("user_id", "deleted_at", "task_id")));
+    }
+
+    private final DataSource dataSource;
+
+    public SchemaIndexCheck(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        try {
+            for (String missing : missingIndexes()) {
+                log.warn("Missing index on {}: task queries will scan instead of seek", missing);
+            }
+        } catch (SQLException e) {
+            log.warn("Could not check indexes: {}", e.getMessage());
+        }
+    }
+
+    /** Required indexes not found, as {@code table(col, ...)}. */
+    public List<String> missingIndexes() throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData meta = connection.getMetaData();
+            for (Map.Entry<String, List<List<String>>> table : REQUIRED.entrySet()) {
+                List<List<String>> present = indexColumns(meta, table.getKey());
+                for (List<String> required : table.getValue()) {
+                    boolean covered = present.stream().anyMatch(columns ->
+                            columns.size() >= required.size() && columns.subList(0, required.size()).equals(required));
+                    if (!covered) {
+                        missing.add(table.getKey() + "(" + String.join(", ", required) + ")");
+                    }
+                }
+            }
+        }
+        return missing;
+    }
+
+    private static List<List<String>> indexColumns(DatabaseMetaData meta, String table) throws SQLException {
+        String name = meta.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, TreeMap<Short, String>> byIndex = new HashMap<>();
+        try (ResultSet rs = meta.getIndexInfo(null, null, name, false, true)) {
+            while (rs.next()) {
+                String index = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (index == null || column == null) continue;
+                byIndex.computeIfAbsent(index, k -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+            }
+        }
+        return byIndex.values().stream().map(columns -> List.copyOf(columns.values())).toList();
+    }
+}
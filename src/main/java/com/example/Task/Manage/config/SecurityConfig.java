@@ -1,27 +1,27 @@
 package com.example.Task.Manage.config;
 
-import com.example.Task.Manage.repository.UserRepository;
 import com.example.Task.Manage.security.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
-    @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtils jwtUtils, UserRepository userRepository, TokenBlacklistService blacklist) {
-        return new JwtAuthenticationFilter(jwtUtils, userRepository, blacklist);
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtils jwtUtils, TokenBlacklistService blacklist,
+                                                           MeterRegistry registry) {
+        return new JwtAuthenticationFilter(jwtUtils, blacklist, registry);
     }
 
     @Bean
@@ -36,7 +36,8 @@ public class SecurityConfig {
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtFilter,
-                                           RestAuthenticationEntryPoint entryPoint, RestAccessDeniedHandler deniedHandler) throws Exception {
+                                           RestAuthenticationEntryPoint entryPoint, RestAccessDeniedHandler deniedHandler,
+                                           RateLimiter rateLimiter, ObjectMapper mapper) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .formLogin(form -> form.disable())
@@ -46,14 +47,21 @@ public class SecurityConfig {
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .headers(h -> h.frameOptions(fo -> fo.sameOrigin()))
                 .authorizeHttpRequests(auth -> auth
+                        // Streaming responses complete on an async dispatch; the request was authorized on entry.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/auth/**", "/h2-console/**").permitAll()
+                        // Served on management.server.port only (loopback by default); path matchers, since MVC matchers
+                        // consult the API context's handler mappings and never match there.
+                        .requestMatchers(antMatcher("/actuator/health"), antMatcher("/actuator/prometheus")).permitAll()
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(e -> e
                         .authenticationEntryPoint(entryPoint)
                         .accessDeniedHandler(deniedHandler)
                 )
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                // Not a bean, so it only runs inside the security chain, after the principal is known.
+                .addFilterAfter(new RateLimitFilter(rateLimiter, mapper), JwtAuthenticationFilter.class);
         return http.build();
     }
 }
@@ -0,0 +1,18 @@
+package com.example.Task.Manage.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class SerializationConfig {
+
+    // Replaces Spring's default Smile converter, so Smile responses use the same modules and
+    // settings (ISO dates etc.) as the JSON ones.
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper mapper) {
+        return new MappingJackson2SmileHttpMessageConverter(mapper.copyWith(new SmileFactory()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.Task.Manage.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup gate for the {@code virtual} profile. The project compiles for Java 17, where Spring silently keeps
+ * platform threads, so the profile refuses to start below JDK 21 instead of running with its smaller pool and
+ * no virtual threads. On JDK 21-23 a virtual thread blocked inside {@code synchronized} (JDBC drivers, some
+ * Hibernate paths) pins its carrier; this only points at the JDK's own pinning trace, it does not detect it.
+ */
+@Slf4j
+@Component
+@Profile("virtual")
+public class VirtualThreadsCheck {
+
+    private final int maxPoolSize;
+
+    public VirtualThreadsCheck(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    @PostConstruct
+    void check() {
+        int feature = Runtime.version().feature();
+        if (feature < 21) {
+            throw new IllegalStateException("Profile 'virtual' needs a JDK 21+ runtime, but this is JDK " + feature);
+        }
+        log.info("Serving requests on virtual threads; at most {} run JDBC work at a time", maxPoolSize);
+        if (feature < 24 && System.getProperty("jdk.tracePinnedThreads") == null) {
+            log.info("Run with -Djdk.tracePinnedThreads=short to report virtual threads pinned by synchronized blocks");
+        }
+    }
+}
@@ -41,4 +41,10 @@ public class AuthController {
         authService.logout(request.getHeader("Authorization"));
         return ResponseEntity.ok().build();
     }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(HttpServletRequest request) {
+        authService.logoutAll(request.getHeader("Authorization"));
+        return ResponseEntity.ok().build();
+    }
 }
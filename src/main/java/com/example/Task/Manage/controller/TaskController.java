@@ -1,49 +1,206 @@
 package com.example.Task.Manage.controller;
 
+import com.example.Task.Manage.DTOs.Request.TaskBatchRequest;
 import com.example.Task.Manage.DTOs.Request.TaskRequest;
 import com.example.Task.Manage.DTOs.Request.UpdateTaskStatusRequest;
+import com.example.Task.Manage.DTOs.Response.TaskBatchResponse;
+import com.example.Task.Manage.DTOs.Response.TaskChangesResponse;
+import com.example.Task.Manage.DTOs.Response.TaskImportResponse;
 import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.DTOs.Response.TaskSearchResponse;
+import com.example.Task.Manage.DTOs.Response.TaskStatsResponse;
+import com.example.Task.Manage.Enum.PayloadFormat;
+import com.example.Task.Manage.Enum.TaskDataFormat;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.event.TaskEventBus;
+import com.example.Task.Manage.exception.ConflictException;
+import com.example.Task.Manage.exception.PreconditionFailedException;
+import com.example.Task.Manage.metrics.SqlBudget;
+import com.example.Task.Manage.security.AuthenticatedUser;
+import com.example.Task.Manage.service.TaskExportService;
+import com.example.Task.Manage.service.TaskImportService;
+import com.example.Task.Manage.service.TaskListCache;
+import com.example.Task.Manage.service.TaskSearchService;
 import com.example.Task.Manage.service.TaskService;
+import com.example.Task.Manage.service.TaskStatsService;
+import com.example.Task.Manage.service.TaskSyncService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/tasks")
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final TaskListCache taskListCache;
+    private final TaskSyncService taskSyncService;
+    private final TaskEventBus taskEventBus;
+    private final TaskSearchService taskSearchService;
+    private final TaskStatsService taskStatsService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskExportService taskExportService,
+                          TaskImportService taskImportService, TaskListCache taskListCache,
+                          TaskSyncService taskSyncService, TaskEventBus taskEventBus,
+                          TaskSearchService taskSearchService, TaskStatsService taskStatsService) {
         this.taskService = taskService;
+        this.taskExportService = taskExportService;
+        this.taskImportService = taskImportService;
+        this.taskListCache = taskListCache;
+        this.taskSyncService = taskSyncService;
+        this.taskEventBus = taskEventBus;
+        this.taskSearchService = taskSearchService;
+        this.taskStatsService = taskStatsService;
     }
 
+    @SqlBudget(4)
     @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE}, consumes = {MediaType.APPLICATION_JSON_VALUE})
-    public ResponseEntity<TaskResponse> create(Authentication auth, @RequestBody @Valid TaskRequest req) {
-        TaskResponse resp = taskService.create(auth.getName(), req);
+    public ResponseEntity<TaskResponse> create(@AuthenticationPrincipal AuthenticatedUser user, @RequestBody @Valid TaskRequest req) {
+        TaskResponse resp = taskService.create(user.id(), req);
         return ResponseEntity.status(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON).body(resp);
     }
 
+    @SqlBudget(2)
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> list(Authentication auth) {
-        return ResponseEntity.ok(taskService.list(auth.getName()));
+    public ResponseEntity<byte[]> list(@AuthenticationPrincipal AuthenticatedUser user,
+                                       @RequestParam(value = "status", required = false) TaskStatus status,
+                                       @RequestParam(value = "cursor", required = false) Long cursor,
+                                       @RequestParam(value = "limit", required = false) Integer limit,
+                                       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                       WebRequest webRequest) {
+        Long ownerId = user.id();
+        PayloadFormat format = PayloadFormat.fromAccept(accept);
+        long version = taskListCache.version(ownerId);
+        String etag = TaskETags.forList(version, format);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        byte[] body = taskListCache.page(ownerId, version, format, status, cursor, limit,
+                () -> taskService.list(ownerId, status, cursor, limit));
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
     }
 
+    @SqlBudget(2)
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> changes(@AuthenticationPrincipal AuthenticatedUser user,
+                                                       @RequestParam(value = "since", required = false) String since,
+                                                       @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(taskSyncService.changes(user.id(), since, limit));
+    }
+
+    @SqlBudget(1)
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> stats(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(taskStatsService.stats(user.id()));
+    }
+
+    @SqlBudget(3)
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchResponse> search(@AuthenticationPrincipal AuthenticatedUser user,
+                                                     @RequestParam(value = "q") String q,
+                                                     @RequestParam(value = "offset", required = false) Integer offset,
+                                                     @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(taskSearchService.search(user.id(), q, offset, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal AuthenticatedUser user) {
+        return taskEventBus.subscribe(user.id());
+    }
+
+    @SqlBudget(1)
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskResponse> get(@AuthenticationPrincipal AuthenticatedUser user,
+                                            @PathVariable("id") Long id,
+                                            WebRequest webRequest) {
+        TaskResponse task = taskService.get(user.id(), id);
+        String etag = TaskETags.forTask(task.version());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(task);
+    }
+
+    @SqlBudget(SqlBudget.UNLIMITED)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@AuthenticationPrincipal AuthenticatedUser user,
+                                                        @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        TaskDataFormat dataFormat = TaskDataFormat.parse(format);
+        Long ownerId = user.id();
+        StreamingResponseBody body = out -> taskExportService.export(ownerId, dataFormat, out);
+        return ResponseEntity.ok()
+                .contentType(dataFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + dataFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @SqlBudget(SqlBudget.UNLIMITED)
+    @PostMapping(value = "/import", produces = {MediaType.APPLICATION_JSON_VALUE}, consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<TaskImportResponse> importTasks(@AuthenticationPrincipal AuthenticatedUser user,
+                                                          HttpServletRequest request) throws IOException {
+        TaskDataFormat dataFormat = TaskDataFormat.fromContentType(request.getContentType());
+        return ResponseEntity.ok(taskImportService.importTasks(user.id(), dataFormat, request.getInputStream()));
+    }
+
+    @SqlBudget(6)
     @PutMapping("/{id}")
-    public ResponseEntity<TaskResponse> updateStatus(Authentication auth,
+    public ResponseEntity<TaskResponse> updateStatus(@AuthenticationPrincipal AuthenticatedUser user,
                                                      @PathVariable("id") Long id,
+                                                     @RequestHeader(value = "Prefer", required = false) String prefer,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                      @RequestBody @Valid UpdateTaskStatusRequest req) {
-        return ResponseEntity.ok(taskService.updateStatus(auth.getName(), id, req));
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            Long expected = TaskETags.taskVersion(ifMatch);
+            if (expected == null) {
+                throw new PreconditionFailedException("If-Match does not name a task version");
+            }
+            req = new UpdateTaskStatusRequest(req.status(), expected);
+        }
+        try {
+            if ("return=minimal".equalsIgnoreCase(prefer)) {
+                taskService.changeStatus(user.id(), id, req.status(), req.version());
+                return ResponseEntity.noContent().header("Preference-Applied", "return=minimal").build();
+            }
+            TaskResponse updated = taskService.updateStatus(user.id(), id, req);
+            return ResponseEntity.ok().eTag(TaskETags.forTask(updated.version())).body(updated);
+        } catch (ConflictException e) {
+            if (ifMatch == null) throw e;
+            throw new PreconditionFailedException("Task has changed since the supplied ETag");
+        }
     }
 
+    @SqlBudget(4)
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(Authentication auth, @PathVariable("id") Long id) {
-        taskService.delete(auth.getName(), id);
+    public ResponseEntity<Void> delete(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable("id") Long id) {
+        taskService.delete(user.id(), id);
         return ResponseEntity.noContent().build();
     }
+
+    @SqlBudget(100)
+    @PostMapping(value = "/batch", produces = {MediaType.APPLICATION_JSON_VALUE}, consumes = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TaskBatchResponse> batch(@AuthenticationPrincipal AuthenticatedUser user,
+                                                   @RequestBody @Valid TaskBatchRequest req) {
+        return ResponseEntity.ok(taskService.applyBatch(user.id(), req));
+    }
 }
@@ -0,0 +1,38 @@
+package com.example.Task.Manage.controller;
+
+import com.example.Task.Manage.Enum.PayloadFormat;
+
+import java.util.Locale;
+
+/**
+ * ETags for task resources. A collection tag is the owner's task-set version (see
+ * {@link com.example.Task.Manage.event.OwnerTaskVersions}); a single task's tag is its row version.
+ * List tags are weak: Tomcat does not gzip a response with a strong ETag, and lists are only ever
+ * revalidated with {@code If-None-Match}, which compares weakly. Task tags stay strong for {@code If-Match}.
+ */
+final class TaskETags {
+
+    private TaskETags() {}
+
+    /** Each payload format is a separate representation, so it gets its own tag. */
+    static String forList(long ownerVersion, PayloadFormat format) {
+        return format == PayloadFormat.JSON
+                ? "W/\"l" + ownerVersion + "\""
+                : "W/\"l" + ownerVersion + "-" + format.name().toLowerCase(Locale.ROOT) + "\"";
+    }
+
+    static String forTask(long taskVersion) {
+        return "\"t" + taskVersion + "\"";
+    }
+
+    /** Row version named by an {@code If-Match} task tag, or {@code null} if the tag is not one of ours. */
+    static Long taskVersion(String etag) {
+        String tag = etag.trim();
+        if (tag.length() < 4 || !tag.startsWith("\"t") || !tag.endsWith("\"")) return null;
+        try {
+            return Long.parseLong(tag.substring(2, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
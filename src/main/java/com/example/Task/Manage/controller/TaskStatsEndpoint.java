@@ -0,0 +1,28 @@
+package com.example.Task.Manage.controller;
+
+import com.example.Task.Manage.service.TaskStatsService;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Rebuilds the per-user task counters from the tasks table. JMX only: the API has no admin role, and a
+ * full-table rebuild must not be one HTTP call away for every signed-in user.
+ */
+@Component
+@JmxEndpoint(id = "taskstats")
+public class TaskStatsEndpoint {
+
+    private final TaskStatsService taskStatsService;
+
+    public TaskStatsEndpoint(TaskStatsService taskStatsService) {
+        this.taskStatsService = taskStatsService;
+    }
+
+    @WriteOperation
+    public Map<String, Integer> reconcile() {
+        return Map.of("rows", taskStatsService.reconcile());
+    }
+}
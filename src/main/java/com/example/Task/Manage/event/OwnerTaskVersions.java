@@ -0,0 +1,39 @@
+package com.example.Task.Manage.event;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of each owner's task set, moved forward after every committed task change.
+ * Values come from one process-wide counter seeded from the clock, so a version is never reused: not after
+ * an owner's entry is evicted from this bounded map, and not across restarts. Versions only track writes
+ * made through this instance.
+ */
+@Component
+public class OwnerTaskVersions {
+
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Cache<Long, Long> versions;
+
+    public OwnerTaskVersions(@Value("${app.tasks.versions.maxOwners:100000}") long maxOwners) {
+        this.versions = Caffeine.newBuilder().maximumSize(maxOwners).build();
+    }
+
+    public long current(Long ownerId) {
+        return versions.get(ownerId, id -> clock.incrementAndGet());
+    }
+
+    // After commit, so a reader never caches pre-commit rows under the new version; first, so later listeners see it.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        versions.put(event.ownerId(), clock.incrementAndGet());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.Task.Manage.event;
+
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+
+import java.util.List;
+
+/**
+ * Published by task write paths; listeners that need committed data react after commit.
+ * {@code created} and {@code deleted} list tasks whose text appeared or went away; status-only changes leave both empty.
+ */
+public record TaskChangedEvent(
+        Long ownerId,
+        List<TaskResponse> created,
+        List<Long> deleted
+) {
+    public TaskChangedEvent(Long ownerId) {
+        this(ownerId, List.of(), List.of());
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.Task.Manage.event;
+
+import com.example.Task.Manage.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed task changes out to {@code GET /tasks/stream} subscribers.
+ * <p>
+ * An idle subscriber is an async request plus a small buffer, and no thread is held for it. Publishing only
+ * enqueues into each subscriber's bounded buffer. When a buffer is full the oldest entry is dropped, which
+ * loses nothing because every event carries the owner's latest task-set version. A small delivery pool then
+ * drains the buffers and writes one coalesced event per drain.
+ */
+@Slf4j
+@Component
+public class TaskEventBus implements MeterBinder {
+    private static final long HEARTBEAT = -1L;
+
+    private final Map<Long, Set<Subscriber>> byOwner = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+
+    private final OwnerTaskVersions versions;
+    private final int bufferSize;
+    private final int maxPerOwner;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final ExecutorService delivery;
+
+    public TaskEventBus(OwnerTaskVersions versions,
+                        @Value("${app.tasks.stream.bufferSize:16}") int bufferSize,
+                        @Value("${app.tasks.stream.maxPerOwner:10}") int maxPerOwner,
+                        @Value("${app.tasks.stream.maxSubscribers:50000}") int maxSubscribers,
+                        @Value("${app.tasks.stream.timeoutMillis:1800000}") long timeoutMillis,
+                        @Value("${app.tasks.stream.deliveryThreads:4}") int deliveryThreads) {
+        this.versions = versions;
+        this.bufferSize = bufferSize;
+        this.maxPerOwner = maxPerOwner;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger seq = new AtomicInteger();
+        // Unbounded queue, but each subscriber has at most one drain task queued, so it holds at most maxSubscribers.
+        this.delivery = Executors.newFixedThreadPool(deliveryThreads, r -> {
+            Thread t = new Thread(r, "task-events-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public SseEmitter subscribe(Long ownerId) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new ServiceOverloadedException("Too many open task streams", 30);
+        }
+        Subscriber sub = new Subscriber(ownerId, newEmitter());
+        AtomicBoolean added = new AtomicBoolean();
+        // compute() keeps this atomic with remove(), which drops the owner's set once it is empty.
+        byOwner.compute(ownerId, (id, owned) -> {
+            if (owned == null) owned = ConcurrentHashMap.newKeySet();
+            if (owned.size() < maxPerOwner) added.set(owned.add(sub));
+            return owned.isEmpty() ? null : owned;
+        });
+        if (!added.get()) {
+            subscribers.decrementAndGet();
+            throw new ServiceOverloadedException("Too many open task streams for this user", 30);
+        }
+        sub.emitter.onCompletion(sub::remove);
+        sub.emitter.onTimeout(sub::remove);
+        sub.emitter.onError(e -> sub.remove());
+        // First event tells the client where it stands, so it can sync before waiting for changes.
+        sub.offer(versions.current(ownerId));
+        return sub.emitter;
+    }
+
+    // Runs after OwnerTaskVersions has moved the version forward for the same commit.
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<Subscriber> owned = byOwner.get(event.ownerId());
+        if (owned == null || owned.isEmpty()) return;
+        long version = versions.current(event.ownerId());
+        for (Subscriber sub : owned) {
+            sub.offer(version);
+        }
+    }
+
+    // Keeps intermediaries from closing idle streams and finds connections that went away.
+    @Scheduled(fixedDelayString = "${app.tasks.stream.heartbeatMillis:30000}")
+    public void heartbeat() {
+        for (Set<Subscriber> owned : byOwner.values()) {
+            for (Subscriber sub : owned) {
+                sub.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    // Tests override this to see what is written to a stream.
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    @PreDestroy
+    void stop() {
+        byOwner.values().forEach(owned -> owned.forEach(sub -> sub.emitter.complete()));
+        delivery.shutdownNow();
+    }
+
+    private final class Subscriber {
+        private final Long ownerId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Long> pending = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscriber(Long ownerId, SseEmitter emitter) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+        }
+
+        void offer(long version) {
+            while (!pending.offer(version)) {
+                if (pending.poll() != null) dropped.incrementAndGet();
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    delivery.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                long latest = HEARTBEAT;
+                boolean any = false;
+                Long v;
+                while ((v = pending.poll()) != null) {
+                    any = true;
+                    latest = Math.max(latest, v);
+                }
+                if (any) send(latest);
+            } catch (IOException | IllegalStateException e) {
+                remove();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!pending.isEmpty()) schedule();
+        }
+
+        private void send(long version) throws IOException {
+            if (version == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                emitter.send(SseEmitter.event()
+                        .name("tasks-changed")
+                        .id(Long.toString(version))
+                        .data(Map.of("version", version), MediaType.APPLICATION_JSON));
+                delivered.incrementAndGet();
+            }
+        }
+
+        void remove() {
+            if (!removed.compareAndSet(false, true)) return;
+            subscribers.decrementAndGet();
+            byOwner.computeIfPresent(ownerId, (id, owned) -> {
+                owned.remove(this);
+                return owned.isEmpty() ? null : owned;
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Open GET /tasks/stream connections")
+                .register(registry);
+        FunctionCounter.builder("tasks.stream.events", delivered, AtomicLong::get)
+                .tag("result", "delivered")
+                .register(registry);
+        FunctionCounter.builder("tasks.stream.events", dropped, AtomicLong::get)
+                .tag("result", "dropped")
+                .description("Buffered events replaced by newer ones because a subscriber fell behind")
+                .register(registry);
+    }
+}
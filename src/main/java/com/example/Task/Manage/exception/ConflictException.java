@@ -0,0 +1,7 @@
+package com.example.Task.Manage.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
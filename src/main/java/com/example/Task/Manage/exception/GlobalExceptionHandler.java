@@ -2,7 +2,9 @@ package com.example.Task.Manage.exception;
 
 import com.example.Task.Manage.DTOs.Response.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -40,6 +42,31 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(Instant.now(), 404, "Not Found", ex.getMessage(), req.getRequestURI(), null);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConflict(ConflictException ex, HttpServletRequest req) {
+        return new ErrorResponse(Instant.now(), 409, "Conflict", ex.getMessage(), req.getRequestURI(), null);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ErrorResponse handlePreconditionFailed(PreconditionFailedException ex, HttpServletRequest req) {
+        return new ErrorResponse(Instant.now(), 412, "Precondition Failed", ex.getMessage(), req.getRequestURI(), null);
+    }
+
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    public ErrorResponse handleSyncTokenExpired(SyncTokenExpiredException ex, HttpServletRequest req) {
+        return new ErrorResponse(Instant.now(), 410, "Gone", ex.getMessage(), req.getRequestURI(), null);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleOverloaded(ServiceOverloadedException ex, HttpServletRequest req) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse(Instant.now(), 503, "Service Unavailable", ex.getMessage(), req.getRequestURI(), null));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleIllegalArg(IllegalArgumentException ex, HttpServletRequest req) {
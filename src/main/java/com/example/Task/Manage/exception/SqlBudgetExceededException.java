@@ -0,0 +1,7 @@
+package com.example.Task.Manage.exception;
+
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.Task.Manage.exception;
+
+public class SyncTokenExpiredException extends RuntimeException {
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.Task.Manage.metrics;
+
+import com.example.Task.Manage.exception.ConflictException;
+import com.example.Task.Manage.exception.NotFoundException;
+import com.example.Task.Manage.exception.PreconditionFailedException;
+import com.example.Task.Manage.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.security.core.AuthenticationException;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public {@code TaskService} and {@code AuthService} call as {@code service.duration}, tagged with
+ * the service, the method and an outcome drawn from a fixed set, so each operation has a bounded number of series.
+ */
+@Aspect
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.example.Task.Manage.service.TaskService.*(..)) "
+            + "|| execution(public * com.example.Task.Manage.service.AuthService.*(..))")
+    public Object time(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return pjp.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            timer(method, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static String outcome(Throwable e) {
+        if (e instanceof NotFoundException) return "not_found";
+        if (e instanceof ConflictException || e instanceof PreconditionFailedException) return "conflict";
+        if (e instanceof IllegalArgumentException) return "invalid";
+        if (e instanceof AuthenticationException) return "unauthorized";
+        if (e instanceof ServiceOverloadedException) return "overloaded";
+        return "error";
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return timers.computeIfAbsent(new TimerKey(method, outcome), k -> Timer.builder("service.duration")
+                .description("Service call latency by operation and outcome")
+                .tag("service", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    private record TimerKey(Method method, String outcome) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.Task.Manage.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL statements a handler method may run on the request thread. JDBC batches count once per prepared
+ * statement. Handlers without it get {@code app.sql.budget.default}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    /** For handlers whose statement count grows with the payload (streaming import/export). */
+    int UNLIMITED = Integer.MAX_VALUE;
+
+    int value();
+}
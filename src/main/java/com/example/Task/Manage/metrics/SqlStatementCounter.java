@@ -0,0 +1,62 @@
+package com.example.Task.Manage.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #begin()} and {@link #end()},
+ * and how often the most repeated SELECT ran (N+1 access shows up as one query text prepared once per row).
+ * Statements run outside such a window (startup, scheduled jobs, async request tails) are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<Window> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Window window = current.get();
+        if (window != null) window.record(sql);
+        return sql;
+    }
+
+    public void begin() {
+        current.set(new Window());
+    }
+
+    /** Statements seen so far in the current window, or 0 outside one. */
+    public long count() {
+        Window window = current.get();
+        return window == null ? 0 : window.statements;
+    }
+
+    public Usage end() {
+        Window window = current.get();
+        current.remove();
+        return window == null ? Usage.NONE : new Usage(window.statements, window.topSelect, window.topSelectCount);
+    }
+
+    /** @param repeatedSelect the most repeated SELECT, or null when none ran */
+    public record Usage(long statements, String repeatedSelect, int repeatedSelectCount) {
+        static final Usage NONE = new Usage(0, null, 0);
+    }
+
+    private static final class Window {
+        long statements;
+        Map<String, Integer> selects;
+        String topSelect;
+        int topSelectCount;
+
+        void record(String sql) {
+            statements++;
+            if (!sql.regionMatches(true, 0, "select", 0, 6)) return;
+            if (selects == null) selects = new HashMap<>();
+            int n = selects.merge(sql, 1, Integer::sum);
+            if (n > topSelectCount) {
+                topSelect = sql;
+                topSelectCount = n;
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.Task.Manage.metrics;
+
+import com.example.Task.Manage.Enum.SqlBudgetMode;
+import com.example.Task.Manage.exception.SqlBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records {@code http.server.sql.statements}: SQL statements per request, tagged like {@code http.server.requests}
+ * with the method and the matched route template (never the raw path), so the tag set stays bounded.
+ * <p>
+ * Then checks the request against its handler's {@link SqlBudget} and for one SELECT repeated
+ * {@code repeatedSelectThreshold} times or more (N+1). In {@code LOG} mode violations are logged and counted; in
+ * {@code FAIL} mode they are thrown. The response is usually committed by then, so {@code FAIL} is meant for
+ * tests and development, where the exception fails the MockMvc call or shows up in the server log.
+ */
+@Slf4j
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry registry;
+    private final SqlBudgetMode mode;
+    private final int defaultBudget;
+    private final int repeatedSelectThreshold;
+
+    public SqlStatementMetricsFilter(SqlStatementCounter counter, MeterRegistry registry, SqlBudgetMode mode,
+                                     int defaultBudget, int repeatedSelectThreshold) {
+        this.counter = counter;
+        this.registry = registry;
+        this.mode = mode;
+        this.defaultBudget = defaultBudget;
+        this.repeatedSelectThreshold = repeatedSelectThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        counter.begin();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            SqlStatementCounter.Usage usage = counter.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            DistributionSummary.builder("http.server.sql.statements")
+                    .description("SQL statements executed while handling a request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(registry)
+                    .record(usage.statements());
+            // A request that already failed keeps its own exception.
+            if (completed && mode != SqlBudgetMode.OFF) {
+                check(request, uri, usage);
+            }
+        }
+    }
+
+    private void check(HttpServletRequest request, String uri, SqlStatementCounter.Usage usage) {
+        int budget = budgetOf(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+        if (usage.statements() > budget) {
+            violation(uri, "budget", request.getMethod() + " " + uri + " ran " + usage.statements()
+                    + " SQL statements, budget is " + budget);
+        }
+        if (usage.repeatedSelectCount() >= repeatedSelectThreshold && budget != SqlBudget.UNLIMITED) {
+            violation(uri, "repeated_select", request.getMethod() + " " + uri + " ran the same SELECT "
+                    + usage.repeatedSelectCount() + " times (possible N+1): " + usage.repeatedSelect());
+        }
+    }
+
+    private int budgetOf(Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            SqlBudget budget = method.getMethodAnnotation(SqlBudget.class);
+            if (budget != null) return budget.value();
+        }
+        return defaultBudget;
+    }
+
+    private void violation(String uri, String kind, String message) {
+        Counter.builder("http.server.sql.budget.exceeded")
+                .description("Requests over their SQL statement budget or repeating one SELECT")
+                .tag("uri", uri)
+                .tag("kind", kind)
+                .register(registry)
+                .increment();
+        if (mode == SqlBudgetMode.FAIL) {
+            throw new SqlBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.Task.Manage.model;
+
+import com.example.Task.Manage.Enum.TaskStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/** Number of tasks a user has in one status; maintained by the task write paths in their own transactions. */
+@Entity
+@Table(name = "task_stats")
+@IdClass(TaskStat.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class TaskStat {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private TaskStatus status;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    @Data @NoArgsConstructor @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private TaskStatus status;
+    }
+}
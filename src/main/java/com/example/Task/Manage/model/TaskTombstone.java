@@ -0,0 +1,24 @@
+package com.example.Task.Manage.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/** Marker left behind by a deleted task so delta sync can report the deletion. */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_user_deleted", columnList = "user_id, deleted_at, task_id")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TaskTombstone {
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
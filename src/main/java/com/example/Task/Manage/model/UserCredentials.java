@@ -0,0 +1,8 @@
+package com.example.Task.Manage.model;
+
+/** Immutable view of the fields authentication needs; safe to share from a cache, unlike a managed {@link User}. */
+public record UserCredentials(
+        Long id,
+        String email,
+        String passwordHash
+) {}
@@ -1,13 +1,86 @@
 package com.example.Task.Manage.repository;
 
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.Enum.TaskStatus;
 import com.example.Task.Manage.model.Task;
 import com.example.Task.Manage.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByOwner(User owner);
-    Optional<Task> findByIdAndOwner(Long id, User owner);
+    Optional<Task> findByIdAndOwnerId(Long id, Long ownerId);
+    List<Task> findByOwnerIdAndIdIn(Long ownerId, Collection<Long> ids);
+    boolean existsByIdAndOwnerId(Long id, Long ownerId);
+
+    // Batch deletes read statuses under row locks: concurrent status changes and deletes of these rows wait,
+    // so the counters moved for them match what is actually removed.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.owner.id = :ownerId and t.id in :ids")
+    List<Task> lockOwned(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    // Ownership-scoped single statements; the affected row count tells "done" from "not found".
+    // Each also pins the current status, so callers learn which per-status counter to move.
+    @Modifying
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, t.updatedAt = :now "
+            + "where t.id = :id and t.owner.id = :ownerId and t.status = :from")
+    int updateStatus(@Param("ownerId") Long ownerId, @Param("id") Long id, @Param("from") TaskStatus from,
+                     @Param("status") TaskStatus status, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, t.updatedAt = :now "
+            + "where t.id = :id and t.owner.id = :ownerId and t.status = :from and t.version = :version")
+    int updateStatusIfVersion(@Param("ownerId") Long ownerId, @Param("id") Long id, @Param("from") TaskStatus from,
+                              @Param("status") TaskStatus status, @Param("version") long version,
+                              @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from Task t where t.id = :id and t.owner.id = :ownerId and t.status = :status")
+    int deleteOwned(@Param("ownerId") Long ownerId, @Param("id") Long id, @Param("status") TaskStatus status);
+
+    // Read paths project straight into TaskResponse: no managed entities, owner proxies or dirty-checking snapshots.
+    String TASK_RESPONSE = "select new com.example.Task.Manage.DTOs.Response.TaskResponse("
+            + "t.id, t.title, t.description, t.status, t.version, t.updatedAt) from Task t ";
+
+    @Query(TASK_RESPONSE + "where t.id = :id and t.owner.id = :ownerId")
+    Optional<TaskResponse> findResponse(@Param("ownerId") Long ownerId, @Param("id") Long id);
+
+    @Query(TASK_RESPONSE + "where t.owner.id = :ownerId and t.id in :ids")
+    List<TaskResponse> findResponses(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    // Keyset pages: served from idx_tasks_user_id / idx_tasks_user_status_id, so cost does not depend on the offset.
+    @Query(TASK_RESPONSE + "where t.owner.id = :ownerId and t.id > :afterId order by t.id")
+    List<TaskResponse> findPage(@Param("ownerId") Long ownerId, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(TASK_RESPONSE + "where t.owner.id = :ownerId and t.status = :status and t.id > :afterId order by t.id")
+    List<TaskResponse> findPageByStatus(@Param("ownerId") Long ownerId, @Param("status") TaskStatus status,
+                                        @Param("afterId") Long afterId, Limit limit);
+
+    // Delta sync keyset over (updatedAt, id), served from idx_tasks_user_updated; rows at or after the horizon wait.
+    @Query(TASK_RESPONSE + "where t.owner.id = :ownerId and t.updatedAt < :horizon "
+            + "and (t.updatedAt > :since or (t.updatedAt = :since and t.id > :afterId)) order by t.updatedAt, t.id")
+    List<TaskResponse> findChangedSince(@Param("ownerId") Long ownerId, @Param("since") Instant since,
+                                        @Param("afterId") Long afterId, @Param("horizon") Instant horizon, Limit limit);
+
+    // Cursor-backed export: rows are fetched from the driver in chunks, and the caller must close the stream.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(TASK_RESPONSE + "where t.owner.id = :ownerId order by t.id")
+    Stream<TaskResponse> streamByOwner(@Param("ownerId") Long ownerId);
 }
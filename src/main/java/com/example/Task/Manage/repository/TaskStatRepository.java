@@ -0,0 +1,51 @@
+package com.example.Task.Manage.repository;
+
+import com.example.Task.Manage.model.TaskStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskStatRepository extends JpaRepository<TaskStat, TaskStat.Key> {
+
+    List<TaskStat> findByUserId(Long userId);
+
+    // Upsert-and-increment in one statement; TaskStatsService picks the form the database supports.
+    // MERGE is for H2, which has no ON CONFLICT ... DO UPDATE. Two transactions creating the same counter at once
+    // can both take the insert branch and hit the primary key, so counters are created at zero up front
+    // (registration, reconcile) and MERGE only has to update.
+    @Modifying
+    @Query(nativeQuery = true, value = "merge into task_stats t "
+            + "using (values (cast(:userId as bigint), cast(:status as varchar(255)), cast(:delta as bigint))) s(user_id, status, delta) "
+            + "on t.user_id = s.user_id and t.status = s.status "
+            + "when matched then update set task_count = t.task_count + s.delta "
+            + "when not matched then insert (user_id, status, task_count) values (s.user_id, s.status, s.delta)")
+    int addByMerge(@Param("userId") Long userId, @Param("status") String status, @Param("delta") long delta);
+
+    // PostgreSQL: ON CONFLICT settles concurrent first inserts of a counter on the primary key (its MERGE does not).
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into task_stats (user_id, status, task_count) "
+            + "values (:userId, :status, :delta) "
+            + "on conflict (user_id, status) do update set task_count = task_stats.task_count + excluded.task_count")
+    int addOnConflict(@Param("userId") Long userId, @Param("status") String status, @Param("delta") long delta);
+
+    @Query(nativeQuery = true, value = "select user_id from task_stats for update")
+    List<Long> lockAll();
+
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from task_stats")
+    int deleteAllRows();
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into task_stats (user_id, status, task_count) "
+            + "select user_id, status, count(*) from tasks where status is not null group by user_id, status")
+    int rebuildFromTasks();
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into task_stats (user_id, status, task_count) "
+            + "select u.id, :status, 0 from users u "
+            + "where not exists (select 1 from task_stats s where s.user_id = u.id and s.status = :status)")
+    int addMissingZeros(@Param("status") String status);
+}
@@ -0,0 +1,31 @@
+package com.example.Task.Manage.repository;
+
+import com.example.Task.Manage.model.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    // Run before the delete: one INSERT ... SELECT that only records tasks the owner actually has.
+    @Modifying
+    @Query("insert into TaskTombstone (taskId, ownerId, deletedAt) "
+            + "select t.id, t.owner.id, :now from Task t where t.owner.id = :ownerId and t.id in :ids")
+    int recordDeletion(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Query("select tt from TaskTombstone tt where tt.ownerId = :ownerId and tt.deletedAt < :horizon "
+            + "and (tt.deletedAt > :since or (tt.deletedAt = :since and tt.taskId > :afterId)) "
+            + "order by tt.deletedAt, tt.taskId")
+    List<TaskTombstone> findDeletedSince(@Param("ownerId") Long ownerId, @Param("since") Instant since,
+                                         @Param("afterId") Long afterId, @Param("horizon") Instant horizon, Limit limit);
+
+    @Modifying
+    @Query("delete from TaskTombstone tt where tt.deletedAt < :cutoff")
+    int purgeOlderThan(@Param("cutoff") Instant cutoff);
+}
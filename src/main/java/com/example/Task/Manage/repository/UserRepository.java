@@ -1,11 +1,83 @@
 package com.example.Task.Manage.repository;
 
+import com.example.Task.Manage.config.CacheConfig;
 import com.example.Task.Manage.model.User;
+import com.example.Task.Manage.model.UserCredentials;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Email -> credentials is on every login/refresh; cached, and only hits are stored so sign-ups need no eviction.
+    // Cache keys use #pN: the build does not keep parameter names.
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_EMAIL, unless = "#result == null")
+    @Query("select new com.example.Task.Manage.model.UserCredentials(u.id, u.email, u.passwordHash) "
+            + "from User u where u.email = :email")
+    Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+
+    @Transactional
+    @Modifying
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#p1")
+    @Query("update User u set u.passwordHash = :hash where u.id = :id and u.email = :email")
+    int updatePasswordHash(@Param("id") Long id, @Param("email") String email, @Param("hash") String passwordHash);
+
+    // Every inherited write is redeclared here: SimpleJpaRepository calls its own save/delete internally,
+    // past the cache proxy. Writes that only know ids, or touch many rows, clear the whole cache.
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#p0.email")
+    <S extends User> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#p0.email")
+    <S extends User> S saveAndFlush(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, allEntries = true)
+    <S extends User> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, allEntries = true)
+    <S extends User> List<S> saveAllAndFlush(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#p0.email")
+    void delete(User entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, allEntries = true)
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, allEntries = true)
+    void deleteAllById(Iterable<? extends Long> ids);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, allEntries = true)
+    void deleteAll(Iterable<? extends User> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, allEntries = true)
+    void deleteAll();
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, allEntries = true)
+    void deleteAllInBatch(Iterable<User> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, allEntries = true)
+    void deleteAllByIdInBatch(Iterable<Long> ids);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, allEntries = true)
+    void deleteAllInBatch();
 }
@@ -0,0 +1,198 @@
+package com.example.Task.Manage.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over one owner's task titles and descriptions, ranked with BM25.
+ * Tasks get dense ordinals so postings are primitive arrays; deletes only mark the ordinal dead and
+ * postings are compacted once dead ordinals outnumber live ones. Task text never changes after create,
+ * so adding an already indexed task is a no-op.
+ */
+final class OwnerIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MIN_COMPACTION = 1024;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] taskIds = new long[16];
+    private int[] lengths = new int[16];
+    private int size;
+    private int live;
+    private long totalLength;
+    private long postingCount;
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    void add(long taskId, String title, String description) {
+        lock.writeLock().lock();
+        try {
+            if (ordinals.containsKey(taskId)) return;
+            Map<String, Integer> freqs = new HashMap<>();
+            int length = count(freqs, title, TITLE_WEIGHT) + count(freqs, description, 1);
+            if (size == taskIds.length) {
+                taskIds = Arrays.copyOf(taskIds, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            int ord = size++;
+            taskIds[ord] = taskId;
+            lengths[ord] = length;
+            ordinals.put(taskId, ord);
+            live++;
+            totalLength += length;
+            freqs.forEach((term, f) -> postings.computeIfAbsent(term, t -> new Postings()).add(ord, f));
+            postingCount += freqs.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            Integer ord = ordinals.remove(taskId);
+            if (ord == null) return;
+            totalLength -= lengths[ord];
+            lengths[ord] = -1;
+            live--;
+            if (size - live > Math.max(MIN_COMPACTION, live)) compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    TaskSearchIndex.Hits search(Collection<String> terms, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            if (live == 0) return TaskSearchIndex.Hits.EMPTY;
+            double avgLength = Math.max(1.0, (double) totalLength / live);
+            double[] scores = new double[size];
+            int[] touched = new int[16];
+            int matched = 0;
+            for (String term : terms) {
+                Postings p = postings.get(term);
+                if (p == null) continue;
+                // Document frequency still counts dead ordinals until the next compaction; close enough for ranking.
+                int df = Math.min(p.size, live);
+                double idf = Math.log(1 + (live - df + 0.5) / (df + 0.5));
+                for (int i = 0; i < p.size; i++) {
+                    int ord = p.ords[i];
+                    int len = lengths[ord];
+                    if (len < 0) continue;
+                    int f = p.freqs[i];
+                    if (scores[ord] == 0) {
+                        if (matched == touched.length) touched = Arrays.copyOf(touched, matched * 2);
+                        touched[matched++] = ord;
+                    }
+                    scores[ord] += idf * f * (K1 + 1) / (f + K1 * (1 - B + B * len / avgLength));
+                }
+            }
+            return new TaskSearchIndex.Hits(top(scores, touched, matched, offset, limit), matched);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Rough heap footprint in postings, used as the cache weight. */
+    int weight() {
+        return (int) Math.min(Integer.MAX_VALUE, postingCount + size);
+    }
+
+    private List<Long> top(double[] scores, int[] touched, int matched, int offset, int limit) {
+        int k = offset + limit;
+        if (offset >= matched || k <= 0) return List.of();
+        // Best first: higher score, then the older task.
+        Comparator<Integer> better = (a, b) -> {
+            int c = Double.compare(scores[b], scores[a]);
+            return c != 0 ? c : Integer.compare(a, b);
+        };
+        PriorityQueue<Integer> worstOnTop = new PriorityQueue<>(Math.min(k, matched) + 1, better.reversed());
+        for (int i = 0; i < matched; i++) {
+            worstOnTop.offer(touched[i]);
+            if (worstOnTop.size() > k) worstOnTop.poll();
+        }
+        List<Integer> ranked = new ArrayList<>(worstOnTop);
+        ranked.sort(better);
+        List<Long> ids = new ArrayList<>(Math.max(0, ranked.size() - offset));
+        for (int i = offset; i < ranked.size(); i++) {
+            ids.add(taskIds[ranked.get(i)]);
+        }
+        return ids;
+    }
+
+    private static int count(Map<String, Integer> freqs, String text, int weight) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            freqs.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private void compact() {
+        int[] remap = new int[size];
+        long[] newIds = new long[Math.max(16, live * 2)];
+        int[] newLengths = new int[newIds.length];
+        int n = 0;
+        for (int ord = 0; ord < size; ord++) {
+            if (lengths[ord] < 0) {
+                remap[ord] = -1;
+            } else {
+                remap[ord] = n;
+                newIds[n] = taskIds[ord];
+                newLengths[n] = lengths[ord];
+                n++;
+            }
+        }
+        postingCount = 0;
+        for (Iterator<Postings> it = postings.values().iterator(); it.hasNext(); ) {
+            Postings p = it.next();
+            p.retain(remap);
+            if (p.size == 0) it.remove();
+            else postingCount += p.size;
+        }
+        ordinals.replaceAll((id, ord) -> remap[ord]);
+        taskIds = newIds;
+        lengths = newLengths;
+        size = n;
+    }
+
+    private static final class Postings {
+        private int[] ords = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int ord, int freq) {
+            if (size == ords.length) {
+                ords = Arrays.copyOf(ords, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            ords[size] = ord;
+            freqs[size] = freq;
+            size++;
+        }
+
+        void retain(int[] remap) {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                int ord = remap[ords[i]];
+                if (ord < 0) continue;
+                ords[n] = ord;
+                freqs[n] = freqs[i];
+                n++;
+            }
+            size = n;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.Task.Manage.search;
+
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.event.OwnerTaskVersions;
+import com.example.Task.Manage.event.TaskChangedEvent;
+import com.example.Task.Manage.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Per-owner full-text indexes over task title and description, built from the database on an owner's
+ * first search and kept current from committed {@link TaskChangedEvent}s. Indexes live in a cache bounded by
+ * total postings; an evicted owner is simply rebuilt on the next search.
+ * <p>
+ * A build runs without locks and is installed only if the owner's task-set version did not move meanwhile;
+ * install and incremental updates share a striped lock, so no committed change falls between the two.
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex implements MeterBinder {
+    private static final int STRIPES = 64;
+    private static final int BUILD_ATTEMPTS = 3;
+
+    public record Hits(List<Long> taskIds, long total) {
+        static final Hits EMPTY = new Hits(List.of(), 0);
+    }
+
+    private final TaskRepository taskRepository;
+    private final OwnerTaskVersions versions;
+    private final TransactionTemplate readOnlyTx;
+    private final Cache<Long, OwnerIndex> indexes;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public TaskSearchIndex(TaskRepository taskRepository,
+                           OwnerTaskVersions versions,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.tasks.search.maxPostings:20000000}") long maxPostings) {
+        this.taskRepository = taskRepository;
+        this.versions = versions;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxPostings)
+                .weigher((Long ownerId, OwnerIndex index) -> index.weight())
+                .recordStats()
+                .build();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Hits search(Long ownerId, String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(OwnerIndex.tokenize(query));
+        if (terms.isEmpty()) return Hits.EMPTY;
+        return indexFor(ownerId).search(terms, offset, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.created().isEmpty() && event.deleted().isEmpty()) return;
+        ReentrantLock lock = stripe(event.ownerId());
+        lock.lock();
+        try {
+            OwnerIndex index = indexes.getIfPresent(event.ownerId());
+            if (index == null) return;
+            for (TaskResponse t : event.created()) {
+                index.add(t.id(), t.title(), t.description());
+            }
+            for (Long id : event.deleted()) {
+                index.remove(id);
+            }
+            indexes.put(event.ownerId(), index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private OwnerIndex indexFor(Long ownerId) {
+        OwnerIndex index = indexes.getIfPresent(ownerId);
+        if (index != null) return index;
+        ReentrantLock lock = stripe(ownerId);
+        for (int attempt = 0; attempt < BUILD_ATTEMPTS; attempt++) {
+            long version = versions.current(ownerId);
+            OwnerIndex built = build(ownerId);
+            lock.lock();
+            try {
+                OwnerIndex existing = indexes.getIfPresent(ownerId);
+                if (existing != null) return existing;
+                if (versions.current(ownerId) == version) {
+                    indexes.put(ownerId, built);
+                    return built;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        // Writes keep landing during builds: build once more while holding off incremental updates.
+        lock.lock();
+        try {
+            OwnerIndex existing = indexes.getIfPresent(ownerId);
+            if (existing != null) return existing;
+            OwnerIndex built = build(ownerId);
+            indexes.put(ownerId, built);
+            return built;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private OwnerIndex build(Long ownerId) {
+        long started = System.nanoTime();
+        OwnerIndex index = new OwnerIndex();
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<TaskResponse> tasks = taskRepository.streamByOwner(ownerId)) {
+                tasks.forEach(t -> index.add(t.id(), t.title(), t.description()));
+            }
+        });
+        log.debug("Built search index for user {} ({} postings) in {} ms",
+                ownerId, index.weight(), (System.nanoTime() - started) / 1_000_000);
+        return index;
+    }
+
+    private ReentrantLock stripe(Long ownerId) {
+        return stripes[Math.floorMod(ownerId.hashCode(), STRIPES)];
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, indexes, "taskSearchIndexes");
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.Task.Manage.security;
+
+import java.security.Principal;
+
+public record AuthenticatedUser(Long id, String email) implements Principal {
+    @Override
+    public String getName() {
+        return email;
+    }
+}
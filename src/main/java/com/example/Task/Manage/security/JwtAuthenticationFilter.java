@@ -1,9 +1,8 @@
 package com.example.Task.Manage.security;
 
-import com.example.Task.Manage.model.User;
-import com.example.Task.Manage.repository.UserRepository;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,17 +16,29 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtils jwtUtils;
-    private final UserRepository userRepository;
     private final TokenBlacklistService blacklist;
+    private final Timer authenticated;
+    private final Timer invalid;
+    private final Timer revoked;
 
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserRepository userRepository, TokenBlacklistService blacklist) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, TokenBlacklistService blacklist, MeterRegistry registry) {
         this.jwtUtils = jwtUtils;
-        this.userRepository = userRepository;
         this.blacklist = blacklist;
+        // Token verification, revocation checks and principal resolution; requests without a bearer token are not timed.
+        this.authenticated = authTimer(registry, "authenticated");
+        this.invalid = authTimer(registry, "invalid");
+        this.revoked = authTimer(registry, "revoked");
+    }
+
+    private static Timer authTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("auth.token.verify")
+                .description("Bearer token verification and user resolution in the authentication filter")
+                .tag("outcome", outcome)
+                .register(registry);
     }
 
     @Override
@@ -42,19 +53,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String auth = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (StringUtils.hasText(auth) && auth.startsWith("Bearer ")) {
             String token = auth.substring(7);
-            if (!blacklist.isBlacklisted(token)) {
-                try {
-                    Jws<Claims> jws = jwtUtils.parse(token);
-                    String email = jws.getBody().getSubject();
-                    Optional<User> userOpt = userRepository.findByEmail(email);
-                    if (userOpt.isPresent()) {
+            long start = System.nanoTime();
+            Timer outcome = invalid;
+            try {
+                Claims claims = jwtUtils.verify(token);
+                Long userId = claims.get(JwtUtils.USER_ID_CLAIM, Long.class);
+                if (userId != null) {
+                    if (blacklist.isRevoked(JwtUtils.tokenId(claims, token))
+                            || blacklist.isUserRevoked(userId, claims.getIssuedAt().getTime())) {
+                        outcome = revoked;
+                    } else {
+                        AuthenticatedUser principal = new AuthenticatedUser(userId, claims.getSubject());
                         Authentication authentication =
-                                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.NO_AUTHORITIES);
+                                new UsernamePasswordAuthenticationToken(principal, null, AuthorityUtils.NO_AUTHORITIES);
                         SecurityContextHolder.getContext().setAuthentication(authentication);
+                        outcome = authenticated;
                     }
-                } catch (Exception ignored) {
                 }
+            } catch (Exception ignored) {
             }
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
         filterChain.doFilter(request, response);
     }
@@ -1,38 +1,67 @@
 package com.example.Task.Manage.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
-public class JwtUtils {
+public class JwtUtils implements MeterBinder {
+
+    public static final String USER_ID_CLAIM = "uid";
 
     private final Key key;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verified;
     @Getter
     private final long accessExpirationMillis;
     @Getter
     private final long refreshExpirationMillis;
 
+    // Set once metrics are bound; null in contexts without a registry (benchmarks, unit tests).
+    private volatile Timer parseValid;
+    private volatile Timer parseInvalid;
+
     public JwtUtils(
             @Value("${app.jwt.secret}") String secret,
             @Value("${app.jwt.accessExpirationMillis}") long accessExpirationMillis,
-            @Value("${app.jwt.refreshExpirationMillis}") long refreshExpirationMillis
+            @Value("${app.jwt.refreshExpirationMillis}") long refreshExpirationMillis,
+            @Value("${app.jwt.verifiedCacheSize:10000}") long verifiedCacheSize
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
         this.accessExpirationMillis = accessExpirationMillis;
         this.refreshExpirationMillis = refreshExpirationMillis;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
     }
 
-    public String generateAccessToken(String subjectEmail) {
+    public String generateAccessToken(Long userId, String subjectEmail) {
         long now = System.currentTimeMillis();
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subjectEmail)
+                .claim(USER_ID_CLAIM, userId)
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now + accessExpirationMillis))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -42,6 +71,7 @@ public class JwtUtils {
     public String generateRefreshToken(String subjectEmail) {
         long now = System.currentTimeMillis();
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subjectEmail)
                 .claim("typ", "refresh")
                 .setIssuedAt(new Date(now))
@@ -50,12 +80,81 @@ public class JwtUtils {
                 .compact();
     }
 
+    /** Full signature check and claims parse, timed as {@code auth.token.parse} by outcome. */
     public Jws<Claims> parse(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        Timer valid = parseValid;
+        if (valid == null) return parser.parseClaimsJws(token);
+        long start = System.nanoTime();
+        try {
+            Jws<Claims> jws = parser.parseClaimsJws(token);
+            valid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return jws;
+        } catch (RuntimeException e) {
+            parseInvalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Verified claims for a token, served from a digest-keyed cache until the token's {@code exp}.
+     * Callers must still check revocation (see {@link TokenBlacklistService}) on every request.
+     */
+    public Claims verify(String token) {
+        String digest = digest(token);
+        Claims claims = verified.getIfPresent(digest);
+        if (claims == null) {
+            claims = parse(token).getBody();
+            verified.put(digest, claims);
+        }
+        return claims;
+    }
+
+    public void evict(String token) {
+        verified.invalidate(digest(token));
+    }
+
+    /** Revocation key of a token: its {@code jti}, or the token digest for tokens issued without one. */
+    public static String tokenId(Claims claims, String token) {
+        return claims.getId() != null ? claims.getId() : digest(token);
+    }
+
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     public Jws<Claims> validateAndParse(String token) {
         return parse(token);
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verified, "verifiedTokens");
+        parseInvalid = Timer.builder("auth.token.parse").tag("outcome", "invalid").register(registry);
+        parseValid = Timer.builder("auth.token.parse").tag("outcome", "valid").register(registry);
+    }
+
+    /** Keeps an entry until the token's own {@code exp}; reads and re-puts do not extend it. */
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
 }
@@ -0,0 +1,134 @@
+package com.example.Task.Manage.security;
+
+import com.example.Task.Manage.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt hashing and verification on a small dedicated pool. The pool and its queue are bounded, so a login
+ * spike cannot take over request threads: work that does not fit is refused at once with
+ * {@link ServiceOverloadedException} (503 + Retry-After) instead of waiting behind everything else.
+ * <p>
+ * The timeout only bounds how long a caller waits. BCrypt does not check for interrupts, so a hash that has
+ * started keeps its worker until it finishes; it still counts against {@code threads + queueCapacity}, which
+ * is what keeps admission honest. Keep {@code timeoutMillis} well above the cost of one hash at the configured
+ * strength, or every call times out while the pool stays busy.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$");
+
+    private final int strength;
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+
+    @Autowired
+    public PasswordHashingService(@Value("${app.security.bcrypt.strength:10}") int strength,
+                                  @Value("${app.security.hashing.threads:0}") int threads,
+                                  @Value("${app.security.hashing.queueCapacity:64}") int queueCapacity,
+                                  @Value("${app.security.hashing.timeoutMillis:5000}") long timeoutMillis,
+                                  MeterRegistry registry) {
+        this(strength, new BCryptPasswordEncoder(strength), threads, queueCapacity, timeoutMillis, registry);
+    }
+
+    PasswordHashingService(int strength, PasswordEncoder encoder, int threads, int queueCapacity,
+                           long timeoutMillis, MeterRegistry registry) {
+        this.strength = strength;
+        this.encoder = encoder;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis));
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hashing-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = Timer.builder("auth.hashing.duration").tag("op", "hash")
+                .publishPercentiles(0.5, 0.99).register(registry);
+        this.verifyTimer = Timer.builder("auth.hashing.duration").tag("op", "verify")
+                .publishPercentiles(0.5, 0.99).register(registry);
+        this.rejected = Counter.builder("auth.hashing.rejected")
+                .description("Hash/verify requests refused because the hashing pool was saturated")
+                .register(registry);
+        Gauge.builder("auth.hashing.queue.size", executor, e -> e.getQueue().size()).register(registry);
+        Gauge.builder("auth.hashing.queue.capacity", () -> queueCapacity).register(registry);
+        Gauge.builder("auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    public String hash(CharSequence rawPassword) {
+        return run(hashTimer, () -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String passwordHash) {
+        return run(verifyTimer, () -> encoder.matches(rawPassword, passwordHash));
+    }
+
+    /** True when a stored hash was produced with a different cost than the configured one. */
+    public boolean needsRehash(String passwordHash) {
+        Matcher m = passwordHash == null ? null : BCRYPT_COST.matcher(passwordHash);
+        return m == null || !m.find() || Integer.parseInt(m.group(1)) != strength;
+    }
+
+    private <T> T run(Timer timer, Callable<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(work));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw overloaded();
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Drops the task if it is still queued; a running hash cannot be stopped and keeps its worker.
+            future.cancel(false);
+            executor.purge();
+            rejected.increment();
+            throw overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException("Authentication is busy, retry shortly", retryAfterSeconds);
+    }
+}
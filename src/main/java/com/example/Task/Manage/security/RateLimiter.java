@@ -0,0 +1,162 @@
+package com.example.Task.Manage.security;
+
+import com.example.Task.Manage.Enum.RateLimitKey;
+import com.example.Task.Manage.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Per-route token buckets keyed by user or client IP (see {@link RateLimitProperties}). Buckets live in one
+ * concurrent map per rule and are taken with a CAS, so the hot path is a map lookup and one atomic update.
+ * A background sweep drops buckets that have refilled completely; they are indistinguishable from new ones.
+ */
+@Slf4j
+@Component
+public class RateLimiter implements MeterBinder {
+
+    private final boolean enabled;
+    private final long sweepIntervalMillis;
+    private final List<CompiledRule> rules;
+    private final LongSupplier clock;
+
+    private ScheduledExecutorService sweeper;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, LongSupplier clock) {
+        this.enabled = properties.enabled();
+        this.sweepIntervalMillis = properties.sweepInterval().toMillis();
+        this.rules = properties.rules().stream().map(CompiledRule::new).toList();
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled || rules.isEmpty()) return;
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rate-limit-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+        rules.forEach(rule -> log.info("Rate limit {}: {} {} per {}, burst {}, by {}", rule.name,
+                rule.methods.isEmpty() ? "*" : rule.methods, rule.pattern.getPatternString(),
+                TimeUnit.NANOSECONDS.toMillis(rule.intervalNanos) + "ms", rule.capacity, rule.key));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (sweeper != null) sweeper.shutdownNow();
+    }
+
+    /** Returns 0 if the request may proceed, otherwise the nanos until the client may retry. */
+    public long tryAcquire(HttpServletRequest request) {
+        if (!enabled || rules.isEmpty()) return 0;
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (CompiledRule rule : rules) {
+            if (rule.matches(request.getMethod(), path)) {
+                return rule.tryAcquire(keyOf(rule.key, request), clock.getAsLong());
+            }
+        }
+        return 0;
+    }
+
+    private static String keyOf(RateLimitKey key, HttpServletRequest request) {
+        if (key == RateLimitKey.USER) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+                return user.email();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    void sweep() {
+        long now = clock.getAsLong();
+        for (CompiledRule rule : rules) {
+            rule.buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+
+    int bucketCount() {
+        return rules.stream().mapToInt(rule -> rule.buckets.size()).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("ratelimit.buckets", this, RateLimiter::bucketCount)
+                .description("Token buckets currently tracked (non-full)")
+                .register(registry);
+        for (CompiledRule rule : rules) {
+            rule.rejected = Counter.builder("ratelimit.rejected")
+                    .description("Requests answered with 429")
+                    .tag("rule", rule.name)
+                    .register(registry);
+        }
+    }
+
+    private static final class CompiledRule {
+        final String name;
+        final PathPattern pattern;
+        final Set<String> methods;
+        final RateLimitKey key;
+        final long capacity;
+        final long intervalNanos;
+        final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        volatile Counter rejected;
+
+        CompiledRule(RateLimitProperties.Rule rule) {
+            if (rule.path() == null || rule.capacity() < 1 || rule.refillEvery() == null || rule.refillEvery().isZero()) {
+                throw new IllegalStateException("Rate limit rule '" + rule.name()
+                        + "' needs a path, a positive capacity and a non-zero refillEvery");
+            }
+            this.name = rule.name() == null ? rule.path() : rule.name();
+            this.pattern = PathPatternParser.defaultInstance.parse(rule.path());
+            this.methods = rule.methods().stream().map(m -> m.toUpperCase(Locale.ROOT)).collect(Collectors.toUnmodifiableSet());
+            this.key = rule.key();
+            this.capacity = rule.capacity();
+            this.intervalNanos = rule.refillEvery().toNanos();
+        }
+
+        boolean matches(String method, PathContainer path) {
+            return (methods.isEmpty() || methods.contains(method)) && pattern.matches(path);
+        }
+
+        long tryAcquire(String key, long now) {
+            TokenBucket bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+            }
+            long wait = bucket.tryAcquire(now, intervalNanos, capacity);
+            if (wait > 0 && rejected != null) rejected.increment();
+            return wait;
+        }
+    }
+}
@@ -1,26 +1,226 @@
 package com.example.Task.Manage.security;
 
+import com.example.Task.Manage.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Revoked token ids ({@code jti}) kept until the token would have expired anyway.
+ * Entries sit in one-minute expiry buckets so a background sweep drops whole buckets at once,
+ * and the store is snapshotted to a local file. At {@code maxEntries} the store fails closed: new
+ * revocations (and, in {@code AuthService}, new logins) are refused with 503 instead of dropping
+ * entries that still block live tokens.
+ */
+@Slf4j
 @Service
-public class TokenBlacklistService {
+public class TokenBlacklistService implements MeterBinder {
+    private static final long BUCKET_MILLIS = 60_000;
+    private static final int SNAPSHOT_MAGIC = 0x544B5256;
+
     private final Map<String, Long> blacklist = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    private final long maxEntries;
+    private final long refreshExpirationMillis;
+    private final long sweepIntervalMillis;
+    private final Path snapshotFile;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+
+    private ScheduledExecutorService sweeper;
+
+    public TokenBlacklistService(@Value("${app.jwt.revocation.maxEntries:1000000}") long maxEntries,
+                                 @Value("${app.jwt.refreshExpirationMillis}") long refreshExpirationMillis,
+                                 @Value("${app.jwt.revocation.sweepIntervalMillis:30000}") long sweepIntervalMillis,
+                                 @Value("${app.jwt.revocation.snapshotFile:}") String snapshotFile) {
+        this.maxEntries = maxEntries;
+        this.refreshExpirationMillis = refreshExpirationMillis;
+        this.sweepIntervalMillis = sweepIntervalMillis;
+        this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+    }
+
+    @PostConstruct
+    void start() {
+        restore();
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "token-revocation-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepAndSnapshot, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+    }
 
-    public void blacklist(String token, long expiresAtMillis) {
-        blacklist.put(token, expiresAtMillis);
+    @PreDestroy
+    void stop() throws InterruptedException {
+        sweeper.shutdown();
+        sweeper.awaitTermination(5, TimeUnit.SECONDS);
+        snapshot();
     }
 
-    public boolean isBlacklisted(String token) {
-        Long exp = blacklist.get(token);
-        if (exp == null) return false;
-        if (exp < Instant.now().toEpochMilli()) {
-            blacklist.remove(token);
-            return false;
+    /**
+     * @throws ServiceOverloadedException when the store is full; the token stays valid and the caller
+     *         must see the failure rather than a silent success.
+     */
+    public void revoke(String tokenId, long expiresAtMillis) {
+        if (expiresAtMillis <= Instant.now().toEpochMilli() || blacklist.containsKey(tokenId)) return;
+        if (isFull()) {
+            if (rejected.incrementAndGet() % 10_000 == 1) {
+                log.warn("Token revocation store is full ({} entries); refusing new revocations", maxEntries);
+            }
+            throw new ServiceOverloadedException("Token revocation store is full", retryAfterSeconds());
         }
+        add(tokenId, expiresAtMillis);
+    }
+
+    /** Soft cap: concurrent revocations may overshoot it slightly, which never un-revokes anything. */
+    public boolean isFull() {
+        return blacklist.size() >= maxEntries;
+    }
+
+    /** Seconds until the next sweep can free space. */
+    public long retryAfterSeconds() {
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sweepIntervalMillis));
+    }
+
+    public boolean isRevoked(String tokenId) {
+        Long exp = blacklist.get(tokenId);
+        if (exp == null || exp <= Instant.now().toEpochMilli()) return false;
+        hits.incrementAndGet();
         return true;
     }
+
+    public void revokeUser(long userId, long revokedAtMillis) {
+        // iat has second precision: truncate so tokens issued in the revocation second stay valid.
+        revokedUsers.merge(userId, revokedAtMillis - revokedAtMillis % 1000, Math::max);
+    }
+
+    public boolean isUserRevoked(long userId, long issuedAtMillis) {
+        Long revokedAt = revokedUsers.get(userId);
+        return revokedAt != null && issuedAtMillis < revokedAt;
+    }
+
+    public int size() {
+        return blacklist.size();
+    }
+
+    void sweep() {
+        long now = Instant.now().toEpochMilli();
+        NavigableMap<Long, Set<String>> due = buckets.headMap(bucketOf(now), false);
+        Map.Entry<Long, Set<String>> bucket;
+        while ((bucket = due.pollFirstEntry()) != null) {
+            for (String id : bucket.getValue()) {
+                if (blacklist.remove(id) != null) expired.incrementAndGet();
+            }
+        }
+        // A user-wide revocation matters while any token issued before it can still be valid, refresh tokens included.
+        revokedUsers.values().removeIf(revokedAt -> revokedAt + refreshExpirationMillis < now);
+    }
+
+    private void add(String tokenId, long expiresAtMillis) {
+        if (blacklist.put(tokenId, expiresAtMillis) == null) {
+            buckets.computeIfAbsent(bucketOf(expiresAtMillis), b -> ConcurrentHashMap.newKeySet()).add(tokenId);
+        }
+    }
+
+    private void sweepAndSnapshot() {
+        try {
+            sweep();
+            snapshot();
+        } catch (Exception e) {
+            log.warn("Token revocation sweep failed", e);
+        }
+    }
+
+    void snapshot() {
+        if (snapshotFile == null) return;
+        try {
+            Path dir = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, snapshotFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(blacklist.size());
+                for (Map.Entry<String, Long> e : blacklist.entrySet()) {
+                    out.writeUTF(e.getKey());
+                    out.writeLong(e.getValue());
+                }
+                out.writeInt(revokedUsers.size());
+                for (Map.Entry<Long, Long> e : revokedUsers.entrySet()) {
+                    out.writeLong(e.getKey());
+                    out.writeLong(e.getValue());
+                }
+            }
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write token revocation snapshot to {}", snapshotFile, e);
+        }
+    }
+
+    private void restore() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) return;
+        long now = Instant.now().toEpochMilli();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                log.warn("Ignoring token revocation snapshot {} with unknown format", snapshotFile);
+                return;
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                String id = in.readUTF();
+                long exp = in.readLong();
+                // Restored regardless of maxEntries: a lowered bound must not un-revoke anything.
+                if (exp > now) add(id, exp);
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                long userId = in.readLong();
+                long revokedAt = in.readLong();
+                if (revokedAt + refreshExpirationMillis >= now) revokedUsers.merge(userId, revokedAt, Math::max);
+            }
+            log.info("Restored {} revoked tokens from {}", blacklist.size(), snapshotFile);
+        } catch (IOException e) {
+            log.warn("Could not read token revocation snapshot {}", snapshotFile, e);
+        }
+    }
+
+    private static long bucketOf(long expiresAtMillis) {
+        return expiresAtMillis - expiresAtMillis % BUCKET_MILLIS;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.revocations.size", blacklist, Map::size)
+                .description("Revoked tokens currently held")
+                .register(registry);
+        Gauge.builder("auth.revocations.capacity", () -> maxEntries)
+                .register(registry);
+        FunctionCounter.builder("auth.revocations.hits", hits, AtomicLong::get)
+                .description("Requests rejected because their token was revoked")
+                .register(registry);
+        FunctionCounter.builder("auth.revocations.removed", expired, AtomicLong::get)
+                .tag("cause", "expired")
+                .register(registry);
+        FunctionCounter.builder("auth.revocations.rejected", rejected, AtomicLong::get)
+                .description("Revocations refused because the store was full")
+                .register(registry);
+    }
 }
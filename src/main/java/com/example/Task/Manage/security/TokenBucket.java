@@ -0,0 +1,38 @@
+package com.example.Task.Manage.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single "theoretical arrival time" (the GCRA form): the instant at which the bucket would
+ * be full again. Taking a token is one CAS on that value, so concurrent requests for the same key never block.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long nowNanos) {
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /** Takes one token; returns 0 if granted, otherwise the nanos until one becomes available. */
+    long tryAcquire(long nowNanos, long intervalNanos, long capacity) {
+        long limit = intervalNanos * capacity;
+        while (true) {
+            long current = fullAt.get();
+            long start = current - nowNanos < 0 ? nowNanos : current;
+            long next = start + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > limit) {
+                return ahead - limit;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** A full bucket behaves exactly like a new one, so dropping it loses nothing. */
+    boolean isFull(long nowNanos) {
+        return fullAt.get() - nowNanos <= 0;
+    }
+}
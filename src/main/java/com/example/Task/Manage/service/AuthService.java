@@ -3,33 +3,39 @@ package com.example.Task.Manage.service;
 import com.example.Task.Manage.DTOs.Request.LoginRequest;
 import com.example.Task.Manage.DTOs.Request.RegisterRequest;
 import com.example.Task.Manage.DTOs.Response.LoginResponse;
+import com.example.Task.Manage.exception.ServiceOverloadedException;
 import com.example.Task.Manage.model.User;
+import com.example.Task.Manage.model.UserCredentials;
 import com.example.Task.Manage.repository.UserRepository;
 import com.example.Task.Manage.security.JwtUtils;
+import com.example.Task.Manage.security.PasswordHashingService;
 import com.example.Task.Manage.security.TokenBlacklistService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Date;
-
+@Slf4j
 @Service
 public class AuthService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
     private final JwtUtils jwtUtils;
     private final TokenBlacklistService blacklistService;
+    private final TaskStatsService taskStats;
 
     public AuthService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder,
+                       PasswordHashingService passwordHashing,
                        JwtUtils jwtUtils,
-                       TokenBlacklistService blacklistService) {
+                       TokenBlacklistService blacklistService,
+                       TaskStatsService taskStats) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashing = passwordHashing;
         this.jwtUtils = jwtUtils;
         this.blacklistService = blacklistService;
+        this.taskStats = taskStats;
     }
 
     public void register(RegisterRequest req) {
@@ -38,23 +44,36 @@ public class AuthService {
         }
         User u = User.builder()
                 .email(req.email())
-                .passwordHash(passwordEncoder.encode(req.password()))
+                .passwordHash(passwordHashing.hash(req.password()))
                 .name(req.name())
                 .build();
-        userRepository.save(u);
+        taskStats.createCounters(userRepository.save(u).getId());
     }
 
     public LoginResponse login(LoginRequest req) {
-        User user = userRepository.findByEmail(req.email())
+        UserCredentials user = userRepository.findCredentialsByEmail(req.email())
                 .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
-        if (!passwordEncoder.matches(req.password(), user.getPasswordHash())) {
+        if (!passwordHashing.matches(req.password(), user.passwordHash())) {
             throw new BadCredentialsException("Invalid credentials");
         }
-        String access = jwtUtils.generateAccessToken(user.getEmail());
-        String refresh = jwtUtils.generateRefreshToken(user.getEmail());
+        rejectWhileRevocationStoreFull();
+        if (passwordHashing.needsRehash(user.passwordHash())) {
+            rehash(user, req.password());
+        }
+        String access = jwtUtils.generateAccessToken(user.id(), user.email());
+        String refresh = jwtUtils.generateRefreshToken(user.email());
         return new LoginResponse(access, jwtUtils.getAccessExpirationMillis(), refresh, jwtUtils.getRefreshExpirationMillis());
     }
 
+    /** Brings a stored hash to the configured cost while the plain password is at hand; best effort. */
+    private void rehash(UserCredentials user, String rawPassword) {
+        try {
+            userRepository.updatePasswordHash(user.id(), user.email(), passwordHashing.hash(rawPassword));
+        } catch (ServiceOverloadedException e) {
+            log.debug("Skipped password rehash for user {}: hashing pool busy", user.id());
+        }
+    }
+
     public LoginResponse refresh(String refreshToken) {
         if (refreshToken == null || refreshToken.isBlank()) {
             throw new BadCredentialsException("Invalid refresh token");
@@ -62,14 +81,21 @@ public class AuthService {
         Jws<Claims> jws = jwtUtils.parse(refreshToken);
         Claims claims = jws.getBody();
         Object typ = claims.get("typ");
-        if (typ == null || !"refresh".equals(typ.toString())) {
+        if (typ == null || !"refresh".equals(typ.toString())
+                || blacklistService.isRevoked(JwtUtils.tokenId(claims, refreshToken))) {
             throw new BadCredentialsException("Invalid refresh token");
         }
         String email = claims.getSubject();
-        userRepository.findByEmail(email)
+        UserCredentials user = userRepository.findCredentialsByEmail(email)
                 .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        // Refresh tokens carry no uid, so the logout-all check can only run once the user is known.
+        if (blacklistService.isUserRevoked(user.id(), claims.getIssuedAt().getTime())) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+
+        rejectWhileRevocationStoreFull();
 
-        String newAccess = jwtUtils.generateAccessToken(email);
+        String newAccess = jwtUtils.generateAccessToken(user.id(), email);
         String newRefresh = jwtUtils.generateRefreshToken(email);
         return new LoginResponse(newAccess, jwtUtils.getAccessExpirationMillis(), newRefresh, jwtUtils.getRefreshExpirationMillis());
     }
@@ -78,9 +104,30 @@ public class AuthService {
         if (bearerToken == null || !bearerToken.startsWith("Bearer ")) return;
         String token = bearerToken.substring(7);
         try {
-            Jws<Claims> jws = jwtUtils.parse(token);
-            Date exp = jws.getBody().getExpiration();
-            blacklistService.blacklist(token, exp.getTime());
-        } catch (Exception ignored) { }
+            Claims claims = jwtUtils.parse(token).getBody();
+            blacklistService.revoke(JwtUtils.tokenId(claims, token), claims.getExpiration().getTime());
+            jwtUtils.evict(token);
+        } catch (JwtException | IllegalArgumentException ignored) { }
+    }
+
+    public void logoutAll(String bearerToken) {
+        if (bearerToken == null || !bearerToken.startsWith("Bearer ")) return;
+        String token = bearerToken.substring(7);
+        try {
+            Claims claims = jwtUtils.parse(token).getBody();
+            Long userId = claims.get(JwtUtils.USER_ID_CLAIM, Long.class);
+            if (userId != null) {
+                blacklistService.revokeUser(userId, System.currentTimeMillis());
+            }
+            blacklistService.revoke(JwtUtils.tokenId(claims, token), claims.getExpiration().getTime());
+            jwtUtils.evict(token);
+        } catch (JwtException | IllegalArgumentException ignored) { }
+    }
+
+    // Tokens issued now could not be revoked until the store drains, so stop issuing them.
+    private void rejectWhileRevocationStoreFull() {
+        if (blacklistService.isFull()) {
+            throw new ServiceOverloadedException("Token revocation store is full", blacklistService.retryAfterSeconds());
+        }
     }
 }
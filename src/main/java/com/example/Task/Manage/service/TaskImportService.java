@@ -0,0 +1,220 @@
+package com.example.Task.Manage.service;
+
+import com.example.Task.Manage.DTOs.Request.TaskRequest;
+import com.example.Task.Manage.DTOs.Response.ImportError;
+import com.example.Task.Manage.DTOs.Response.TaskImportResponse;
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.Enum.TaskDataFormat;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.event.TaskChangedEvent;
+import com.example.Task.Manage.model.Task;
+import com.example.Task.Manage.model.User;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks from an NDJSON or CSV upload while it is being read: records are parsed one at a time,
+ * validated against {@link TaskRequest}'s constraints and persisted in fixed-size transactions, so heap use
+ * depends on the batch size rather than the upload size. Invalid records are reported by line and skipped.
+ * NDJSON goes through one streaming {@link JsonParser}, so no line is ever held as a whole; malformed JSON
+ * cannot be resynchronized and ends the import at that point.
+ */
+@Slf4j
+@Service
+public class TaskImportService {
+
+    public static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    // Far above TaskRequest's @Size limits; caps what a single oversized value can make the parser buffer.
+    private static final int MAX_STRING_LENGTH = 64 * 1024;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final JsonFactory jsonFactory;
+    private final ApplicationEventPublisher events;
+    private final TaskStatsService taskStats;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+
+    public TaskImportService(EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             Validator validator,
+                             ApplicationEventPublisher events,
+                             TaskStatsService taskStats,
+                             ObjectMapper mapper) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.jsonFactory = mapper.getFactory().copy()
+                .setStreamReadConstraints(StreamReadConstraints.builder().maxStringLength(MAX_STRING_LENGTH).build());
+        this.events = events;
+        this.taskStats = taskStats;
+        this.jsonReader = mapper.readerFor(TaskRequest.class);
+        CsvMapper csv = CsvMapper.builder().enable(CsvParser.Feature.EMPTY_STRING_AS_NULL).build();
+        this.csvReader = csv.readerFor(TaskRequest.class).with(CsvSchema.emptySchema().withHeader());
+    }
+
+    public TaskImportResponse importTasks(Long ownerId, TaskDataFormat format, InputStream in) throws IOException {
+        Run run = new Run(ownerId);
+        if (format == TaskDataFormat.CSV) {
+            readCsv(in, run);
+        } else {
+            readNdjson(in, run);
+        }
+        run.flush();
+        return run.result();
+    }
+
+    private void readNdjson(InputStream in, Run run) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in);
+             MappingIterator<TaskRequest> records = jsonReader.readValues(parser)) {
+            while (true) {
+                long line = parser.currentLocation().getLineNr();
+                try {
+                    if (!records.hasNextValue()) break;
+                    line = parser.currentTokenLocation().getLineNr();
+                    run.accept(line, records.nextValue());
+                } catch (JsonProcessingException e) {
+                    // Binding errors leave the parser inside a well-formed record, which the iterator skips on the
+                    // next hasNextValue(). Syntax errors and exceeded read limits (which databind wraps) do not.
+                    JsonProcessingException cause = e.getCause() instanceof JsonProcessingException c ? c : e;
+                    if (cause instanceof DatabindException) {
+                        run.reject(line, cause.getOriginalMessage());
+                        continue;
+                    }
+                    long at = cause.getLocation() == null ? line : cause.getLocation().getLineNr();
+                    run.reject(at, cause.getOriginalMessage() + "; the rest of the upload was not read");
+                    break;
+                }
+            }
+        }
+    }
+
+    private void readCsv(InputStream in, Run run) throws IOException {
+        try (MappingIterator<TaskRequest> rows = csvReader.readValues(in)) {
+            while (true) {
+                try {
+                    if (!rows.hasNextValue()) break;
+                    TaskRequest row = rows.nextValue();
+                    run.accept(rows.getCurrentLocation().getLineNr(), row);
+                } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+                    run.reject(rows.getCurrentLocation().getLineNr(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void persist(Long ownerId, List<TaskRequest> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User owner = entityManager.getReference(User.class, ownerId);
+            List<Task> tasks = new ArrayList<>(batch.size());
+            Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+            for (TaskRequest r : batch) {
+                Task task = Task.builder()
+                        .title(r.title())
+                        .description(r.description())
+                        .status(r.status() == null ? TaskStatus.INPROGRESS : r.status())
+                        .owner(owner)
+                        .build();
+                entityManager.persist(task);
+                tasks.add(task);
+                counts.merge(task.getStatus(), 1L, Long::sum);
+            }
+            taskStats.apply(ownerId, counts);
+            entityManager.flush();
+            entityManager.clear();
+            List<TaskResponse> created = tasks.stream()
+                    .map(t -> new TaskResponse(t.getId(), t.getTitle(), t.getDescription(), t.getStatus(), t.getVersion(), t.getUpdatedAt()))
+                    .toList();
+            events.publishEvent(new TaskChangedEvent(ownerId, created, List.of()));
+        });
+    }
+
+    private final class Run {
+        private final Long ownerId;
+        private final long startedAt = System.nanoTime();
+        private final List<TaskRequest> batch = new ArrayList<>(BATCH_SIZE);
+        private final List<ImportError> errors = new ArrayList<>();
+        private long firstLineOfBatch;
+        private long imported;
+        private long failed;
+
+        private Run(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        void accept(long line, TaskRequest request) {
+            Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                return;
+            }
+            if (batch.isEmpty()) firstLineOfBatch = line;
+            batch.add(request);
+            if (batch.size() == BATCH_SIZE) flush();
+        }
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new ImportError(line, message));
+        }
+
+        void flush() {
+            if (batch.isEmpty()) return;
+            try {
+                persist(ownerId, batch);
+                imported += batch.size();
+            } catch (DataAccessException e) {
+                failed += batch.size();
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ImportError(firstLineOfBatch, "Batch of " + batch.size() + " rows starting here was rolled back: "
+                            + e.getMostSpecificCause().getMessage()));
+                }
+            }
+            batch.clear();
+            log.info("Task import for user {}: {} imported, {} failed, {} rows/s", ownerId, imported, failed, rowsPerSecond());
+        }
+
+        long rowsPerSecond() {
+            long elapsedNanos = Math.max(1, System.nanoTime() - startedAt);
+            return imported * 1_000_000_000L / elapsedNanos;
+        }
+
+        TaskImportResponse result() {
+            long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            return new TaskImportResponse(imported, failed, List.copyOf(errors), failed > errors.size(), elapsedMillis, rowsPerSecond());
+        }
+    }
+}
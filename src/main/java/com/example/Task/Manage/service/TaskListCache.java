@@ -0,0 +1,76 @@
+package com.example.Task.Manage.service;
+
+import com.example.Task.Manage.DTOs.Response.TaskPageResponse;
+import com.example.Task.Manage.Enum.PayloadFormat;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.event.OwnerTaskVersions;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Serialized {@code GET /tasks} pages, keyed by the owner's task-set version. A write moves the version
+ * forward, so stale pages are never served again and age out; the cache is bounded by total bytes.
+ * Each {@link PayloadFormat} is serialized by its own writer, built once from the application's mapper.
+ */
+@Component
+public class TaskListCache {
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final OwnerTaskVersions versions;
+    private final Map<PayloadFormat, ObjectWriter> writers = new EnumMap<>(PayloadFormat.class);
+    private final Cache<PageKey, byte[]> pages;
+
+    public TaskListCache(OwnerTaskVersions versions, ObjectMapper mapper, ObjectProvider<MeterRegistry> registry,
+                         @Value("${app.tasks.listCache.maxBytes:67108864}") long maxBytes) {
+        this.versions = versions;
+        writers.put(PayloadFormat.JSON, mapper.writerFor(TaskPageResponse.class));
+        writers.put(PayloadFormat.SMILE, mapper.copyWith(new SmileFactory()).writerFor(TaskPageResponse.class));
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((PageKey key, byte[] body) -> body.length + ENTRY_OVERHEAD)
+                .recordStats()
+                .build();
+        registry.ifAvailable(r -> CaffeineCacheMetrics.monitor(r, pages, "taskPages"));
+    }
+
+    public long version(Long ownerId) {
+        return versions.current(ownerId);
+    }
+
+    /** The page for {@code version}, which the caller read from {@link #version} before loading anything. */
+    public byte[] page(Long ownerId, long version, PayloadFormat format, TaskStatus status, Long cursor, Integer limit,
+                       Supplier<TaskPageResponse> loader) {
+        PageKey key = new PageKey(ownerId, version, format, status, cursor, limit);
+        byte[] body = pages.getIfPresent(key);
+        if (body == null) {
+            // Loaded outside the cache's compute lock: concurrent misses may both query, but never block each other.
+            body = serialize(format, loader.get());
+            pages.put(key, body);
+        }
+        return body;
+    }
+
+    private byte[] serialize(PayloadFormat format, TaskPageResponse page) {
+        try {
+            return writers.get(format).writeValueAsBytes(page);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record PageKey(Long ownerId, long version, PayloadFormat format, TaskStatus status, Long cursor, Integer limit) {}
+}
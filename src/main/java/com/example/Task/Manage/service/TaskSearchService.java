@@ -0,0 +1,49 @@
+package com.example.Task.Manage.service;
+
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.DTOs.Response.TaskSearchResponse;
+import com.example.Task.Manage.repository.TaskRepository;
+import com.example.Task.Manage.search.TaskSearchIndex;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class TaskSearchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private final TaskSearchIndex index;
+    private final TaskRepository taskRepository;
+
+    public TaskSearchService(TaskSearchIndex index, TaskRepository taskRepository) {
+        this.index = index;
+        this.taskRepository = taskRepository;
+    }
+
+    /** Ranked matches from the in-memory index; only the requested page is loaded from the database. */
+    public TaskSearchResponse search(Long ownerId, String query, Integer offset, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        int from = offset == null ? 0 : offset;
+        if (size < 1 || from < 0) {
+            throw new IllegalArgumentException("offset must be >= 0 and limit positive");
+        }
+        TaskSearchIndex.Hits hits = index.search(ownerId, query, from, size);
+        Integer nextOffset = from + size < hits.total() ? from + size : null;
+        if (hits.taskIds().isEmpty()) {
+            return new TaskSearchResponse(List.of(), hits.total(), nextOffset);
+        }
+        Map<Long, TaskResponse> byId = taskRepository.findResponses(ownerId, hits.taskIds()).stream()
+                .collect(Collectors.toMap(TaskResponse::id, Function.identity()));
+        List<TaskResponse> items = hits.taskIds().stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new TaskSearchResponse(items, hits.total(), nextOffset);
+    }
+}
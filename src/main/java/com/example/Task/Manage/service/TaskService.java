@@ -1,66 +1,217 @@
 package com.example.Task.Manage.service;
 
+import com.example.Task.Manage.DTOs.Request.TaskBatchRequest;
 import com.example.Task.Manage.DTOs.Request.TaskRequest;
+import com.example.Task.Manage.DTOs.Request.TaskStatusChange;
 import com.example.Task.Manage.DTOs.Request.UpdateTaskStatusRequest;
+import com.example.Task.Manage.DTOs.Response.BatchItemResult;
+import com.example.Task.Manage.DTOs.Response.TaskBatchResponse;
+import com.example.Task.Manage.DTOs.Response.TaskPageResponse;
 import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.Enum.BatchItemStatus;
 import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.event.TaskChangedEvent;
+import com.example.Task.Manage.exception.ConflictException;
 import com.example.Task.Manage.exception.NotFoundException;
 import com.example.Task.Manage.model.Task;
 import com.example.Task.Manage.model.User;
 import com.example.Task.Manage.repository.TaskRepository;
+import com.example.Task.Manage.repository.TaskTombstoneRepository;
 import com.example.Task.Manage.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TaskStatsService taskStats;
+    private final ApplicationEventPublisher events;
 
-    public TaskService(TaskRepository taskRepository, UserRepository userRepository) {
+    public TaskService(TaskRepository taskRepository, UserRepository userRepository,
+                       TaskTombstoneRepository tombstoneRepository, TaskStatsService taskStats,
+                       ApplicationEventPublisher events) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.taskStats = taskStats;
+        this.events = events;
     }
 
-    private User requireUser(String email) {
-        return userRepository.findByEmail(email).orElseThrow(() -> new IllegalArgumentException("User not found"));
-    }
-
-    public TaskResponse create(String email, TaskRequest req) {
-        User owner = requireUser(email);
+    @Transactional
+    public TaskResponse create(Long ownerId, TaskRequest req) {
         Task t = Task.builder()
                 .title(req.title())
                 .description(req.description())
                 .status(req.status() == null ? TaskStatus.INPROGRESS : req.status())
-                .owner(owner)
+                .owner(userRepository.getReferenceById(ownerId))
                 .build();
-        Task saved = taskRepository.save(t);
-        return toDto(saved);
+        TaskResponse created = toDto(taskRepository.save(t));
+        taskStats.add(ownerId, created.status(), 1);
+        events.publishEvent(new TaskChangedEvent(ownerId, List.of(created), List.of()));
+        return created;
     }
 
-    public List<TaskResponse> list(String email) {
-        User owner = requireUser(email);
-        return taskRepository.findByOwner(owner).stream().map(this::toDto).toList();
+    @Transactional(readOnly = true)
+    public TaskPageResponse list(Long ownerId, TaskStatus status, Long cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        if (size < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        long afterId = cursor == null ? 0L : cursor;
+        Limit fetch = Limit.of(size + 1);
+        List<TaskResponse> rows = status == null
+                ? taskRepository.findPage(ownerId, afterId, fetch)
+                : taskRepository.findPageByStatus(ownerId, status, afterId, fetch);
+
+        boolean hasMore = rows.size() > size;
+        List<TaskResponse> items = hasMore ? rows.subList(0, size) : rows;
+        Long nextCursor = hasMore ? items.get(items.size() - 1).id() : null;
+        return new TaskPageResponse(items, nextCursor);
     }
 
-    public TaskResponse updateStatus(String email, Long id, UpdateTaskStatusRequest req) {
-        User owner = requireUser(email);
-        Task t = taskRepository.findByIdAndOwner(id, owner)
+    @Transactional(readOnly = true)
+    public TaskResponse get(Long ownerId, Long id) {
+        return taskRepository.findResponse(ownerId, id)
                 .orElseThrow(() -> new NotFoundException("Task not found"));
-        t.setStatus(req.status());
-        return toDto(taskRepository.save(t));
     }
 
-    public void delete(String email, Long id) {
-        User owner = requireUser(email);
-        Task t = taskRepository.findByIdAndOwner(id, owner)
+    @Transactional
+    public TaskResponse updateStatus(Long ownerId, Long id, UpdateTaskStatusRequest req) {
+        changeStatus(ownerId, id, req.status(), req.version());
+        return taskRepository.findResponse(ownerId, id)
                 .orElseThrow(() -> new NotFoundException("Task not found"));
-        taskRepository.delete(t);
+    }
+
+    /**
+     * Status change as a single UPDATE per candidate current status (normally exactly one); the matching
+     * statement says which counter to move. Used directly when the caller does not need the updated task back.
+     */
+    @Transactional
+    public void changeStatus(Long ownerId, Long id, TaskStatus status, Long expectedVersion) {
+        Instant now = Task.now();
+        for (TaskStatus from : statusesEndingWith(status)) {
+            int updated = expectedVersion == null
+                    ? taskRepository.updateStatus(ownerId, id, from, status, now)
+                    : taskRepository.updateStatusIfVersion(ownerId, id, from, status, expectedVersion, now);
+            if (updated == 1) {
+                if (from != status) {
+                    taskStats.add(ownerId, from, -1);
+                    taskStats.add(ownerId, status, 1);
+                }
+                events.publishEvent(new TaskChangedEvent(ownerId));
+                return;
+            }
+        }
+        throw missingOrStale(ownerId, id, expectedVersion);
+    }
+
+    @Transactional
+    public void delete(Long ownerId, Long id) {
+        tombstoneRepository.recordDeletion(ownerId, List.of(id), Task.now());
+        for (TaskStatus status : TaskStatus.values()) {
+            if (taskRepository.deleteOwned(ownerId, id, status) == 1) {
+                taskStats.add(ownerId, status, -1);
+                events.publishEvent(new TaskChangedEvent(ownerId, List.of(), List.of(id)));
+                return;
+            }
+        }
+        throw new NotFoundException("Task not found");
+    }
+
+    // Other statuses first: a real transition is the common case, re-setting the same status the rare one.
+    private static List<TaskStatus> statusesEndingWith(TaskStatus last) {
+        List<TaskStatus> order = new ArrayList<>(List.of(TaskStatus.values()));
+        order.remove(last);
+        order.add(last);
+        return order;
+    }
+
+    private RuntimeException missingOrStale(Long ownerId, Long id, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.existsByIdAndOwnerId(id, ownerId)) {
+            return new ConflictException("Task was modified concurrently");
+        }
+        return new NotFoundException("Task not found");
+    }
+
+    /**
+     * Applies creates, then status updates, then deletes in one transaction. Inserts and updates are
+     * flushed as JDBC batches at commit and each delete list is a single statement. Tasks to delete are
+     * read under row locks, so their counters are moved by the status they have when removed.
+     */
+    @Transactional
+    public TaskBatchResponse applyBatch(Long ownerId, TaskBatchRequest req) {
+        List<TaskRequest> creates = req.creates() == null ? List.of() : req.creates();
+        List<TaskStatusChange> updates = req.updates() == null ? List.of() : req.updates();
+        List<Long> deletes = req.deletes() == null ? List.of() : req.deletes();
+
+        User owner = userRepository.getReferenceById(ownerId);
+        List<Task> newTasks = creates.stream()
+                .map(r -> Task.builder()
+                        .title(r.title())
+                        .description(r.description())
+                        .status(r.status() == null ? TaskStatus.INPROGRESS : r.status())
+                        .owner(owner)
+                        .build())
+                .toList();
+        List<TaskResponse> created = taskRepository.saveAll(newTasks).stream().map(this::toDto).toList();
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        created.forEach(t -> counts.merge(t.status(), 1L, Long::sum));
+
+        List<BatchItemResult> updated = List.of();
+        if (!updates.isEmpty()) {
+            Map<Long, Task> owned = byId(taskRepository.findByOwnerIdAndIdIn(ownerId,
+                    updates.stream().map(TaskStatusChange::id).toList()));
+            updated = updates.stream().map(u -> {
+                Task t = owned.get(u.id());
+                if (t == null) return new BatchItemResult(u.id(), BatchItemStatus.NOT_FOUND);
+                counts.merge(t.getStatus(), -1L, Long::sum);
+                counts.merge(u.status(), 1L, Long::sum);
+                t.setStatus(u.status());
+                return new BatchItemResult(u.id(), BatchItemStatus.UPDATED);
+            }).toList();
+        }
+
+        List<BatchItemResult> deleted = List.of();
+        List<Long> deletedIds = List.of();
+        if (!deletes.isEmpty()) {
+            Map<Long, Task> owned = byId(taskRepository.lockOwned(ownerId, deletes));
+            deletedIds = List.copyOf(owned.keySet());
+            if (!owned.isEmpty()) {
+                tombstoneRepository.recordDeletion(ownerId, owned.keySet(), Task.now());
+            }
+            owned.values().forEach(t -> counts.merge(t.getStatus(), -1L, Long::sum));
+            taskRepository.deleteAllInBatch(owned.values());
+            deleted = deletes.stream()
+                    .map(id -> new BatchItemResult(id, owned.containsKey(id) ? BatchItemStatus.DELETED : BatchItemStatus.NOT_FOUND))
+                    .toList();
+        }
+        taskStats.apply(ownerId, counts);
+        events.publishEvent(new TaskChangedEvent(ownerId, created, deletedIds));
+        return new TaskBatchResponse(created, updated, deleted);
+    }
+
+    private static Map<Long, Task> byId(List<Task> tasks) {
+        return tasks.stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
     }
 
     private TaskResponse toDto(Task t) {
-        return new TaskResponse(t.getId(), t.getTitle(), t.getDescription(), t.getStatus());
+        return new TaskResponse(t.getId(), t.getTitle(), t.getDescription(), t.getStatus(), t.getVersion(), t.getUpdatedAt());
     }
 }
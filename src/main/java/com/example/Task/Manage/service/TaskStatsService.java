@@ -0,0 +1,102 @@
+package com.example.Task.Manage.service;
+
+import com.example.Task.Manage.DTOs.Response.TaskStatsResponse;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.model.TaskStat;
+import com.example.Task.Manage.repository.TaskStatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-user task counts by status. Reads touch at most one row per status; the counters are moved by the
+ * task write paths inside their own transactions, and {@link #reconcile()} rebuilds them from {@code tasks}.
+ * Every user gets a zero counter per status up front, so the write paths only ever update existing rows.
+ */
+@Slf4j
+@Service
+public class TaskStatsService {
+
+    private final TaskStatRepository statRepository;
+    private final boolean postgres;
+
+    public TaskStatsService(TaskStatRepository statRepository, DataSource dataSource) {
+        this.statRepository = statRepository;
+        this.postgres = "PostgreSQL".equals(databaseProductName(dataSource));
+    }
+
+    @Transactional(readOnly = true)
+    public TaskStatsResponse stats(Long ownerId) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus s : TaskStatus.values()) {
+            counts.put(s, 0L);
+        }
+        long total = 0;
+        for (TaskStat stat : statRepository.findByUserId(ownerId)) {
+            counts.put(stat.getStatus(), stat.getTaskCount());
+            total += stat.getTaskCount();
+        }
+        return new TaskStatsResponse(counts, total);
+    }
+
+    /** Applies non-zero deltas; must join the transaction that made the task change. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long ownerId, Map<TaskStatus, Long> deltas) {
+        deltas.forEach((status, delta) -> {
+            if (delta != 0) increment(ownerId, status, delta);
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Long ownerId, TaskStatus status, long delta) {
+        increment(ownerId, status, delta);
+    }
+
+    /** Creates the zero counters of a new user. */
+    @Transactional
+    public void createCounters(Long userId) {
+        for (TaskStatus status : TaskStatus.values()) {
+            increment(userId, status, 0);
+        }
+    }
+
+    private void increment(Long ownerId, TaskStatus status, long delta) {
+        if (postgres) {
+            statRepository.addOnConflict(ownerId, status.name(), delta);
+        } else {
+            statRepository.addByMerge(ownerId, status.name(), delta);
+        }
+    }
+
+    /**
+     * Rebuilds every counter from {@code tasks}, with zero rows for the statuses a user has no tasks in.
+     * Existing counter rows are locked first, so writers that move them wait and apply their delta on top of
+     * the rebuilt value.
+     */
+    @Transactional
+    public int reconcile() {
+        statRepository.lockAll();
+        statRepository.deleteAllRows();
+        int rows = statRepository.rebuildFromTasks();
+        for (TaskStatus status : TaskStatus.values()) {
+            rows += statRepository.addMissingZeros(status.name());
+        }
+        log.info("Rebuilt {} task counter rows from tasks", rows);
+        return rows;
+    }
+
+    private static String databaseProductName(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getDatabaseProductName();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot read database metadata", e);
+        }
+    }
+}
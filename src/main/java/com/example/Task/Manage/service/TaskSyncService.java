@@ -0,0 +1,134 @@
+package com.example.Task.Manage.service;
+
+import com.example.Task.Manage.DTOs.Response.TaskChangesResponse;
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.exception.SyncTokenExpiredException;
+import com.example.Task.Manage.model.Task;
+import com.example.Task.Manage.model.TaskTombstone;
+import com.example.Task.Manage.repository.TaskRepository;
+import com.example.Task.Manage.repository.TaskTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Delta sync: tasks changed and deleted since a client's token, walked in (timestamp, id) order across
+ * {@code tasks} and {@code task_tombstones}. Work is proportional to the number of changes.
+ * <p>
+ * Only changes older than a short settle horizon are returned, so a transaction that stamped its rows
+ * just before committing is not skipped by a token issued in the meantime.
+ */
+@Slf4j
+@Service
+public class TaskSyncService {
+
+    public static final int DEFAULT_LIMIT = 200;
+    public static final int MAX_LIMIT = 1000;
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final long settleMillis;
+    private final long tombstoneRetentionMillis;
+
+    public TaskSyncService(TaskRepository taskRepository,
+                           TaskTombstoneRepository tombstoneRepository,
+                           @Value("${app.tasks.sync.settleMillis:2000}") long settleMillis,
+                           @Value("${app.tasks.sync.tombstoneRetentionMillis:2592000000}") long tombstoneRetentionMillis) {
+        this.taskRepository = taskRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.settleMillis = settleMillis;
+        this.tombstoneRetentionMillis = tombstoneRetentionMillis;
+    }
+
+    @Transactional(readOnly = true)
+    public TaskChangesResponse changes(Long ownerId, String since, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        if (size < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        Instant now = Task.now();
+        SyncToken from = since == null || since.isBlank() ? SyncToken.START : SyncToken.decode(since);
+        if (from != SyncToken.START && from.at().isBefore(now.minusMillis(tombstoneRetentionMillis))) {
+            throw new SyncTokenExpiredException("Sync token is older than the deletion history; reload the full list");
+        }
+        Instant horizon = now.minusMillis(settleMillis);
+
+        List<TaskResponse> changed = taskRepository.findChangedSince(ownerId, from.at(), from.afterId(), horizon, Limit.of(size + 1));
+        List<TaskTombstone> deleted = tombstoneRepository.findDeletedSince(ownerId, from.at(), from.afterId(), horizon, Limit.of(size + 1));
+
+        // Merge both keyset streams and keep the first `size` entries in (timestamp, id) order.
+        List<TaskResponse> outChanged = new ArrayList<>();
+        List<Long> outDeleted = new ArrayList<>();
+        SyncToken last = null;
+        int c = 0, d = 0;
+        while (outChanged.size() + outDeleted.size() < size && (c < changed.size() || d < deleted.size())) {
+            boolean takeChange = d == deleted.size()
+                    || (c < changed.size() && before(changed.get(c), deleted.get(d)));
+            if (takeChange) {
+                TaskResponse t = changed.get(c++);
+                outChanged.add(t);
+                last = new SyncToken(t.updatedAt(), t.id());
+            } else {
+                TaskTombstone tt = deleted.get(d++);
+                outDeleted.add(tt.getTaskId());
+                last = new SyncToken(tt.getDeletedAt(), tt.getTaskId());
+            }
+        }
+        boolean hasMore = c < changed.size() || d < deleted.size();
+        SyncToken next;
+        if (hasMore) {
+            next = last;
+        } else if (horizon.isAfter(from.at())) {
+            next = new SyncToken(horizon, 0L);
+        } else {
+            next = from;
+        }
+        return new TaskChangesResponse(outChanged, outDeleted, next.encode(), hasMore);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.sync.purgeIntervalMillis:3600000}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.purgeOlderThan(Task.now().minusMillis(tombstoneRetentionMillis));
+        if (purged > 0) {
+            log.info("Purged {} task tombstones older than {} ms", purged, tombstoneRetentionMillis);
+        }
+    }
+
+    private static boolean before(TaskResponse t, TaskTombstone tt) {
+        int cmp = t.updatedAt().compareTo(tt.getDeletedAt());
+        return cmp < 0 || (cmp == 0 && t.id() < tt.getTaskId());
+    }
+
+    /** Opaque client cursor: base64url of {@code epochMicros:id}. */
+    record SyncToken(Instant at, long afterId) {
+        static final SyncToken START = new SyncToken(Instant.EPOCH, 0L);
+
+        String encode() {
+            long micros = ChronoUnit.MICROS.between(Instant.EPOCH, at);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((micros + ":" + afterId).getBytes(StandardCharsets.US_ASCII));
+        }
+
+        static SyncToken decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+                int sep = raw.indexOf(':');
+                long micros = Long.parseLong(raw.substring(0, sep));
+                return new SyncToken(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), Long.parseLong(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+-- Schema as mapped by the entities in com.example.Task.Manage.model. Plain SQL accepted by both
+-- H2 (MODE=PostgreSQL) and PostgreSQL 10+ (the oldest Flyway 10 community supports).
+
+-- Increment = spring.jpa.properties.task_manage.id.allocation_size (pooled optimizer).
+create sequence users_seq start with 1 increment by 50;
+create sequence tasks_seq start with 1 increment by 50;
+
+create table users (
+    id            bigint       not null,
+    email         varchar(255) not null,
+    password_hash varchar(255) not null,
+    name          varchar(255) not null,
+    constraint pk_users primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table tasks (
+    id          bigint       not null,
+    title       varchar(255) not null,
+    description varchar(255),
+    status      varchar(20),
+    user_id     bigint       not null,
+    version     bigint       not null default 0,
+    updated_at  timestamp(6) with time zone,
+    constraint pk_tasks primary key (id),
+    constraint fk_tasks_user foreign key (user_id) references users (id)
+);
+
+-- Every task query is scoped to one owner: keyset pages (optionally by status) and delta sync.
+create index idx_tasks_user_status_id on tasks (user_id, status, id);
+create index idx_tasks_user_id on tasks (user_id, id);
+create index idx_tasks_user_updated on tasks (user_id, updated_at, id);
+
+create table task_tombstones (
+    task_id    bigint                      not null,
+    user_id    bigint                      not null,
+    deleted_at timestamp(6) with time zone not null,
+    constraint pk_task_tombstones primary key (task_id)
+);
+
+create index idx_task_tombstones_user_deleted on task_tombstones (user_id, deleted_at, task_id);
+
+create table task_stats (
+    user_id    bigint      not null,
+    status     varchar(20) not null,
+    task_count bigint      not null,
+    constraint pk_task_stats primary key (user_id, status)
+);
@@ -0,0 +1,34 @@
+package com.example.Task.Manage.Enum;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadFormatTest {
+
+    @Test
+    void fromAccept_neverPicksAFormatRefusedWithQZero() {
+        assertEquals(PayloadFormat.JSON, PayloadFormat.fromAccept("application/x-jackson-smile;q=0, application/json"));
+        assertEquals(PayloadFormat.JSON, PayloadFormat.fromAccept("application/x-jackson-smile;q=0"));
+    }
+
+    @Test
+    void fromAccept_picksTheHigherQuality_notTheFirstListed() {
+        assertEquals(PayloadFormat.SMILE, PayloadFormat.fromAccept("application/json;q=0.1, application/x-jackson-smile"));
+        assertEquals(PayloadFormat.JSON, PayloadFormat.fromAccept("application/x-jackson-smile;q=0.5, application/json;q=0.9"));
+    }
+
+    @Test
+    void fromAccept_equalQualities_keepTheHeaderOrder() {
+        assertEquals(PayloadFormat.SMILE, PayloadFormat.fromAccept("application/x-jackson-smile, application/json"));
+        assertEquals(PayloadFormat.JSON, PayloadFormat.fromAccept("application/json, application/x-jackson-smile"));
+    }
+
+    @Test
+    void fromAccept_defaultsToJson() {
+        assertEquals(PayloadFormat.JSON, PayloadFormat.fromAccept(null));
+        assertEquals(PayloadFormat.JSON, PayloadFormat.fromAccept("*/*"));
+        assertEquals(PayloadFormat.JSON, PayloadFormat.fromAccept("text/html, */*;q=0.8"));
+        assertEquals(PayloadFormat.JSON, PayloadFormat.fromAccept("not a media type"));
+    }
+}
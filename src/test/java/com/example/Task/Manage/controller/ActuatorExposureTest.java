@@ -0,0 +1,59 @@
+package com.example.Task.Manage.controller;
+
+import com.example.Task.Manage.security.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Metrics and health are scraped from the management port; the API port must not serve them to anyone. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class ActuatorExposureTest {
+
+    @LocalServerPort int port;
+    @LocalManagementPort int managementPort;
+    @Autowired JwtUtils jwtUtils;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void apiPort_servesNoActuatorEndpoints() throws Exception {
+        String bearer = "Bearer " + jwtUtils.generateAccessToken(1L, "metrics@example.com");
+
+        assertNotEquals(port, managementPort);
+        // Unmapped paths end on the /error dispatch, which the API answers with 401 whoever is asking.
+        for (String token : new String[]{null, bearer}) {
+            HttpResponse<String> scrape = get(port, "/actuator/prometheus", token);
+            assertEquals(401, scrape.statusCode());
+            assertFalse(scrape.body().contains("http_server_requests_seconds"));
+            assertEquals(401, get(port, "/actuator/health", token).statusCode());
+        }
+    }
+
+    @Test
+    void managementPort_servesPrometheusAndHealth() throws Exception {
+        HttpResponse<String> scrape = get(managementPort, "/actuator/prometheus", null);
+
+        assertEquals(200, scrape.statusCode());
+        assertTrue(scrape.body().contains("http_server_requests_seconds"), "metrics page");
+        assertEquals(200, get(managementPort, "/actuator/health", null).statusCode());
+    }
+
+    private HttpResponse<String> get(int onPort, String path, String bearer) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + onPort + path));
+        if (bearer != null) {
+            request.header("Authorization", bearer);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
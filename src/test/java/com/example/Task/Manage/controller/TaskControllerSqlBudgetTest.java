@@ -0,0 +1,178 @@
+package com.example.Task.Manage.controller;
+
+import com.example.Task.Manage.model.User;
+import com.example.Task.Manage.repository.UserRepository;
+import com.example.Task.Manage.security.JwtUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statements per {@code TaskController} endpoint against the real schema. Runs with
+ * {@code app.sql.budget.mode=FAIL}, so any endpoint over its {@code @SqlBudget} fails here as well.
+ */
+@SpringBootTest(properties = "app.sql.budget.mode=FAIL")
+@AutoConfigureMockMvc
+class TaskControllerSqlBudgetTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired UserRepository users;
+    @Autowired JwtUtils jwtUtils;
+    @Autowired MeterRegistry registry;
+    @Autowired ObjectMapper mapper;
+    @Autowired JdbcTemplate jdbc;
+
+    private User user;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        user = users.save(User.builder()
+                .email("budget-" + UUID.randomUUID() + "@example.com").name("Budget").passwordHash("x").build());
+        bearer = "Bearer " + jwtUtils.generateAccessToken(user.getId(), user.getEmail());
+    }
+
+    // The in-memory database is shared with the other Spring test contexts.
+    @AfterEach
+    void tearDown() {
+        for (String table : new String[]{"tasks", "task_stats", "task_tombstones"}) {
+            jdbc.update("delete from " + table + " where user_id = ?", user.getId());
+        }
+        users.delete(user);
+    }
+
+    @Test
+    void taskEndpoints_runExpectedStatementCounts() throws Exception {
+        long[] id = new long[1];
+        long created = statements("POST", "/tasks", () -> {
+            String body = mvc.perform(post("/tasks").header(HttpHeaders.AUTHORIZATION, bearer)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"budget\"}"))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode json = mapper.readTree(body);
+            id[0] = json.get("id").asLong();
+        });
+        // Insert and counter upsert, plus sequence calls when a new id block is needed.
+        assertTrue(created >= 2 && created <= 4, "POST /tasks ran " + created);
+
+        assertEquals(1, statements("GET", "/tasks", () -> getOk("/tasks")));
+        assertEquals(0, statements("GET", "/tasks", () -> getOk("/tasks")), "second poll is served from the page cache");
+        assertEquals(1, statements("GET", "/tasks/{id}", () -> getOk("/tasks/" + id[0])));
+        assertEquals(1, statements("GET", "/tasks/stats", () -> getOk("/tasks/stats")));
+        assertEquals(2, statements("GET", "/tasks/changes", () -> getOk("/tasks/changes")));
+
+        // Status UPDATE, two counter upserts, then the updated row.
+        assertEquals(4, statements("PUT", "/tasks/{id}", () ->
+                mvc.perform(put("/tasks/" + id[0]).header(HttpHeaders.AUTHORIZATION, bearer)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"status\":\"DONE\"}"))
+                        .andExpect(status().isOk())));
+
+        // Tombstone, DELETE pinned to INPROGRESS (no match), DELETE pinned to DONE, counter upsert.
+        assertEquals(4, statements("DELETE", "/tasks/{id}", () ->
+                mvc.perform(delete("/tasks/" + id[0]).header(HttpHeaders.AUTHORIZATION, bearer))
+                        .andExpect(status().isNoContent())));
+    }
+
+    @Test
+    void batchSearchMinimalPutAndNotModified_runExpectedStatementCounts() throws Exception {
+        long[] ids = new long[40];
+        long created = statements("POST", "/tasks/batch", () -> {
+            JsonNode json = mapper.readTree(batch(creates(40)).andReturn().getResponse().getContentAsString());
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = json.get("created").get(i).get("id").asLong();
+            }
+        });
+        // One batched insert and one counter upsert, plus sequence calls; not one statement per task.
+        assertTrue(created >= 2 && created <= 4, "POST /tasks/batch with 40 creates ran " + created);
+
+        StringBuilder updates = new StringBuilder();
+        StringBuilder deletes = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            updates.append(i == 0 ? "" : ",").append("{\"id\":").append(ids[i]).append(",\"status\":\"DONE\"}");
+            deletes.append(i == 0 ? "" : ",").append(ids[20 + i]);
+        }
+        // Read the updated tasks, lock the deleted ones, tombstones, DELETE, one upsert per status moved,
+        // then the 20 status changes as one JDBC batch at flush.
+        assertEquals(7, statements("POST", "/tasks/batch", () ->
+                batch("{\"updates\":[" + updates + "],\"deletes\":[" + deletes + "]}")));
+
+        // The first search builds the owner's index (one streamed read) and loads the page; later ones only load.
+        assertEquals(2, statements("GET", "/tasks/search", () -> getOk("/tasks/search?q=report&limit=5")));
+        assertEquals(1, statements("GET", "/tasks/search", () -> getOk("/tasks/search?q=report&offset=5&limit=5")));
+
+        // Prefer: return=minimal skips reading the task back: the status UPDATE and two counter upserts.
+        assertEquals(3, statements("PUT", "/tasks/{id}", () ->
+                mvc.perform(put("/tasks/" + ids[0]).header(HttpHeaders.AUTHORIZATION, bearer)
+                                .header("Prefer", "return=minimal")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"status\":\"INPROGRESS\"}"))
+                        .andExpect(status().isNoContent())));
+
+        String taskTag = getOk("/tasks/" + ids[1]).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(1, statements("GET", "/tasks/{id}", () -> notModified("/tasks/" + ids[1], taskTag)));
+        String listTag = getOk("/tasks").andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(0, statements("GET", "/tasks", () -> notModified("/tasks", listTag)),
+                "a matching list ETag is answered from the owner's version alone");
+    }
+
+    private ResultActions getOk(String path) throws Exception {
+        return mvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+    }
+
+    private long statements(String method, String uri, Call call) throws Exception {
+        double before = total(method, uri);
+        call.run();
+        return Math.round(total(method, uri) - before);
+    }
+
+    private double total(String method, String uri) {
+        DistributionSummary summary = registry.find("http.server.sql.statements").tags("method", method, "uri", uri).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private ResultActions batch(String body) throws Exception {
+        return mvc.perform(post("/tasks/batch").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+
+    private static String creates(int n) {
+        StringBuilder body = new StringBuilder("{\"creates\":[");
+        for (int i = 0; i < n; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"title\":\"report ").append(i).append("\"}");
+        }
+        return body.append("]}").toString();
+    }
+
+    private void notModified(String path, String etag) throws Exception {
+        mvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, bearer).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        void run() throws Exception;
+    }
+}
@@ -1,49 +1,187 @@
 package com.example.Task.Manage.controller;
 
 import com.example.Task.Manage.DTOs.Request.TaskRequest;
-import com.example.Task.Manage.DTOs.Request.UpdateTaskStatusRequest;
+import com.example.Task.Manage.DTOs.Response.TaskPageResponse;
 import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.event.OwnerTaskVersions;
+import com.example.Task.Manage.event.TaskChangedEvent;
+import com.example.Task.Manage.event.TaskEventBus;
+import com.example.Task.Manage.exception.ConflictException;
+import com.example.Task.Manage.security.AuthenticatedUser;
+import com.example.Task.Manage.service.TaskExportService;
+import com.example.Task.Manage.service.TaskImportService;
+import com.example.Task.Manage.service.TaskListCache;
+import com.example.Task.Manage.service.TaskSearchService;
 import com.example.Task.Manage.service.TaskService;
-import jakarta.validation.Valid;
-import org.springframework.http.HttpStatus;
+import com.example.Task.Manage.service.TaskStatsService;
+import com.example.Task.Manage.service.TaskSyncService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.web.bind.annotation.*;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
-@RestController
-@RequestMapping("/tasks")
-class TaskController {
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-    private final TaskService taskService;
+@WebMvcTest(TaskController.class)
+@Import({TaskListCache.class, OwnerTaskVersions.class})
+class TaskControllerTest {
 
-    public TaskController(TaskService taskService) {
-        this.taskService = taskService;
+    @Autowired MockMvc mvc;
+    @Autowired OwnerTaskVersions versions;
+    @MockBean TaskService taskService;
+    @MockBean TaskExportService taskExportService;
+    @MockBean TaskImportService taskImportService;
+    @MockBean TaskSyncService taskSyncService;
+    @MockBean TaskEventBus taskEventBus;
+    @MockBean TaskSearchService taskSearchService;
+    @MockBean TaskStatsService taskStatsService;
+
+    private final Authentication user = new UsernamePasswordAuthenticationToken(
+            new AuthenticatedUser(1L, "u@example.com"), null, AuthorityUtils.NO_AUTHORITIES);
+
+    // The page cache outlives a test; a fresh version keeps one test's pages out of the next.
+    @BeforeEach
+    void newTaskSetVersion() {
+        versions.onTaskChanged(new TaskChangedEvent(1L));
     }
 
-    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE}, consumes = {MediaType.APPLICATION_JSON_VALUE})
-    public ResponseEntity<TaskResponse> create(Authentication auth, @RequestBody @Valid TaskRequest req) {
-        TaskResponse resp = taskService.create(auth.getName(), req);
-        return ResponseEntity.status(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON).body(resp);
+    @Test
+    void create_returns201() throws Exception {
+        when(taskService.create(eq(1L), any(TaskRequest.class)))
+                .thenReturn(new TaskResponse(42L, "t", "d", TaskStatus.INPROGRESS, 0L, null));
+
+        mvc.perform(post("/tasks").with(authentication(user)).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"t\",\"description\":\"d\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(42));
     }
 
-    @GetMapping
-    public ResponseEntity<List<TaskResponse>> list(Authentication auth) {
-        return ResponseEntity.ok(taskService.list(auth.getName()));
+    @Test
+    void create_withoutTitle_returns400() throws Exception {
+        mvc.perform(post("/tasks").with(authentication(user)).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"d\"}"))
+                .andExpect(status().isBadRequest());
     }
 
-    @PutMapping("/{id}")
-    public ResponseEntity<TaskResponse> updateStatus(Authentication auth,
-                                                     @PathVariable("id") Long id,
-                                                     @RequestBody @Valid UpdateTaskStatusRequest req) {
-        return ResponseEntity.ok(taskService.updateStatus(auth.getName(), id, req));
+    @Test
+    void list_passesFilterAndCursor() throws Exception {
+        when(taskService.list(1L, TaskStatus.DONE, 10L, 5))
+                .thenReturn(new TaskPageResponse(List.of(new TaskResponse(11L, "t", null, TaskStatus.DONE, 0L, null)), 11L));
+
+        mvc.perform(get("/tasks").with(authentication(user))
+                        .param("status", "DONE").param("cursor", "10").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(11))
+                .andExpect(jsonPath("$.nextCursor").value(11));
     }
 
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(Authentication auth, @PathVariable("id") Long id) {
-        taskService.delete(auth.getName(), id);
-        return ResponseEntity.noContent().build();
+    @Test
+    void list_withoutAuthentication_isRejected() throws Exception {
+        mvc.perform(get("/tasks"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void list_repeatedPoll_isServedFromCache() throws Exception {
+        when(taskService.list(1L, null, null, null))
+                .thenReturn(new TaskPageResponse(List.of(new TaskResponse(1L, "t", null, TaskStatus.DONE, 0L, null)), null));
+
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/tasks").with(authentication(user)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].title").value("t"));
+        }
+
+        verify(taskService, times(1)).list(1L, null, null, null);
+    }
+
+    @Test
+    void list_acceptSmile_returnsSmilePageWithItsOwnETag() throws Exception {
+        when(taskService.list(1L, null, null, null))
+                .thenReturn(new TaskPageResponse(List.of(new TaskResponse(1L, "t", null, TaskStatus.DONE, 0L, null)), null));
+        String jsonTag = mvc.perform(get("/tasks").with(authentication(user)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        var response = mvc.perform(get("/tasks").with(authentication(user)).header("Accept", "application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn().getResponse();
+
+        assertEquals("t", new ObjectMapper(new SmileFactory()).readTree(response.getContentAsByteArray())
+                .path("items").path(0).path("title").asText());
+        assertNotEquals(jsonTag, response.getHeader("ETag"));
+    }
+
+    @Test
+    void list_ifNoneMatchCurrentETag_returns304WithoutLoading() throws Exception {
+        when(taskService.list(1L, null, null, null)).thenReturn(new TaskPageResponse(List.of(), null));
+        String etag = mvc.perform(get("/tasks").with(authentication(user)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/tasks").with(authentication(user)).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(taskService, times(1)).list(1L, null, null, null);
+    }
+
+    @Test
+    void updateStatus_staleIfMatch_returns412() throws Exception {
+        doThrow(new ConflictException("stale")).when(taskService).changeStatus(1L, 5L, TaskStatus.DONE, 3L);
+
+        mvc.perform(put("/tasks/5").with(authentication(user)).with(csrf())
+                        .header("If-Match", "\"t3\"")
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"DONE\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateStatus_preferMinimal_returns204() throws Exception {
+        mvc.perform(put("/tasks/5").with(authentication(user)).with(csrf())
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"DONE\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Preference-Applied", "return=minimal"));
+
+        verify(taskService).changeStatus(1L, 5L, TaskStatus.DONE, null);
+    }
+
+    @Test
+    void delete_returns204() throws Exception {
+        mvc.perform(delete("/tasks/5").with(authentication(user)).with(csrf()))
+                .andExpect(status().isNoContent());
+
+        verify(taskService).delete(1L, 5L);
     }
 }
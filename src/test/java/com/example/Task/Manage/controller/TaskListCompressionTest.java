@@ -0,0 +1,95 @@
+package com.example.Task.Manage.controller;
+
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.model.Task;
+import com.example.Task.Manage.model.User;
+import com.example.Task.Manage.repository.TaskRepository;
+import com.example.Task.Manage.repository.UserRepository;
+import com.example.Task.Manage.security.JwtUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@code server.compression} is applied by Tomcat, so this runs against the real server rather than MockMvc.
+ * The JDK client does not decompress on its own, which leaves {@code Content-Encoding} visible. Nothing rolls
+ * back on a real server, so the rows written here are removed again from the shared in-memory database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskListCompressionTest {
+
+    @LocalServerPort int port;
+    @Autowired UserRepository users;
+    @Autowired TaskRepository tasks;
+    @Autowired JwtUtils jwtUtils;
+    @Autowired ObjectMapper mapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private User user;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        user = users.save(User.builder()
+                .email("gzip-" + UUID.randomUUID() + "@example.com").name("Gzip").passwordHash("x").build());
+        List<Task> page = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            var task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Description of task " + i + " long enough to push the page past the 1 KB threshold");
+            task.setStatus(TaskStatus.INPROGRESS);
+            task.setOwner(user);
+            page.add(task);
+        }
+        tasks.saveAll(page);
+        bearer = "Bearer " + jwtUtils.generateAccessToken(user.getId(), user.getEmail());
+    }
+
+    @AfterEach
+    void tearDown() {
+        tasks.deleteAllInBatch(tasks.findByOwner(user));
+        users.delete(user);
+    }
+
+    @Test
+    void list_isGzipped_andRevalidatesWithItsWeakETag() throws Exception {
+        HttpResponse<InputStream> response = client.send(list().header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        JsonNode body;
+        try (InputStream in = new GZIPInputStream(response.body())) {
+            body = mapper.readTree(in);
+        }
+        assertEquals(30, body.get("items").size());
+
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+        assertTrue(etag.startsWith("W/\""), etag);
+        HttpResponse<Void> revalidated = client.send(list().header("If-None-Match", etag).build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertEquals(304, revalidated.statusCode());
+    }
+
+    private HttpRequest.Builder list() {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks?limit=50"))
+                .header("Authorization", bearer);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.Task.Manage.controller;
+
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.model.Task;
+import com.example.Task.Manage.model.User;
+import com.example.Task.Manage.repository.TaskRepository;
+import com.example.Task.Manage.repository.UserRepository;
+import com.example.Task.Manage.security.AuthenticatedUser;
+import com.example.Task.Manage.service.TaskStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jmx.enabled=true")
+@AutoConfigureMockMvc
+class TaskStatsEndpointTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired MBeanServer mbeanServer;
+    @Autowired UserRepository users;
+    @Autowired TaskRepository tasks;
+    @Autowired TaskStatsService stats;
+
+    private User owner;
+
+    @AfterEach
+    void tearDown() {
+        if (owner != null) {
+            tasks.deleteAllInBatch(tasks.findByOwner(owner));
+            users.delete(owner);
+            stats.reconcile();
+        }
+    }
+
+    @Test
+    void reconcile_isNotReachableOverHttp_evenWhenSignedIn() throws Exception {
+        var user = new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(1L, "u@example.com"), null, AuthorityUtils.NO_AUTHORITIES);
+
+        mvc.perform(post("/actuator/taskstats").with(authentication(user)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void reconcile_isRegisteredAsJmxOperation() throws Exception {
+        var name = new ObjectName("org.springframework.boot:type=Endpoint,name=Taskstats");
+
+        // Written straight to the table, so the counters know nothing of these tasks until the rebuild.
+        owner = users.save(User.builder()
+                .email("stats-" + UUID.randomUUID() + "@example.com").name("Stats").passwordHash("x").build());
+        tasks.saveAll(List.of(task("a", TaskStatus.DONE), task("b", TaskStatus.DONE)));
+
+        assertTrue(mbeanServer.isRegistered(name));
+        Object result = mbeanServer.invoke(name, "reconcile", new Object[0], new String[0]);
+
+        // One counter per user and status, zero where the user has no such tasks.
+        assertEquals(Map.of("rows", (int) users.count() * TaskStatus.values().length), result);
+        assertEquals(Map.of(TaskStatus.DONE, 2L, TaskStatus.INPROGRESS, 0L), stats.stats(owner.getId()).counts());
+    }
+
+    private Task task(String title, TaskStatus status) {
+        return Task.builder().title(title).status(status).owner(owner).build();
+    }
+}
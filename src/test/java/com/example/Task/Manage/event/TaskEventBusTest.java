@@ -0,0 +1,208 @@
+package com.example.Task.Manage.event;
+
+import com.example.Task.Manage.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventBusTest {
+
+    @Test
+    void subscribe_enforcesPerOwnerLimit() {
+        var bus = new TaskEventBus(new OwnerTaskVersions(100), 4, 1, 100, 60_000, 1);
+        try {
+            assertNotNull(bus.subscribe(1L));
+            assertThrows(ServiceOverloadedException.class, () -> bus.subscribe(1L));
+            assertNotNull(bus.subscribe(2L));
+
+            assertEquals(2, bus.subscriberCount());
+        } finally {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void subscribe_enforcesGlobalLimit_andKeepsServingTheOpenStream() throws Exception {
+        var versions = new OwnerTaskVersions(100);
+        var bus = new RecordingBus(versions, 4, 10, 1);
+        try {
+            bus.subscribe(1L);
+            long initial = bus.next();
+            change(versions, bus, 1L);
+
+            assertThrows(ServiceOverloadedException.class, () -> bus.subscribe(2L));
+            assertEquals(1, bus.subscriberCount());
+            assertEquals(versions.current(1L), bus.next());
+            assertTrue(versions.current(1L) > initial);
+        } finally {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void changes_reachOnlyTheOwnersStreams() throws Exception {
+        var versions = new OwnerTaskVersions(100);
+        var bus = new RecordingBus(versions, 4, 10, 100);
+        try {
+            bus.subscribe(1L);
+            bus.next();
+            change(versions, bus, 2L);
+            change(versions, bus, 1L);
+
+            assertEquals(versions.current(1L), bus.next());
+            assertNull(bus.sent.poll(200, TimeUnit.MILLISECONDS), "owner 2's change is not sent to owner 1");
+        } finally {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void rapidChanges_whileAStreamIsBusy_coalesceIntoOneEvent() throws Exception {
+        var versions = new OwnerTaskVersions(100);
+        var bus = new RecordingBus(versions, 16, 10, 100);
+        try {
+            bus.hold();
+            bus.subscribe(1L);
+            bus.awaitHeld();
+            for (int i = 0; i < 10; i++) {
+                change(versions, bus, 1L);
+            }
+            bus.release();
+
+            bus.next();
+            assertEquals(versions.current(1L), bus.next());
+            assertNull(bus.sent.poll(200, TimeUnit.MILLISECONDS), "ten changes, one event");
+        } finally {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void fullBuffer_dropsTheOldestEntries_andTheLatestVersionSurvives() throws Exception {
+        var versions = new OwnerTaskVersions(100);
+        var bus = new RecordingBus(versions, 2, 10, 100);
+        var registry = new SimpleMeterRegistry();
+        bus.bindTo(registry);
+        try {
+            bus.hold();
+            bus.subscribe(1L);
+            bus.awaitHeld();
+            // The drain is now stuck writing the first event and its buffer is empty: two fit, three are dropped.
+            for (int i = 0; i < 5; i++) {
+                change(versions, bus, 1L);
+            }
+            bus.release();
+
+            bus.next();
+            assertEquals(versions.current(1L), bus.next());
+            assertNull(bus.sent.poll(200, TimeUnit.MILLISECONDS));
+            assertEquals(3, registry.get("tasks.stream.events").tag("result", "dropped").functionCounter().count());
+        } finally {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void heartbeat_isAComment_andGivesWayToAPendingVersion() throws Exception {
+        var versions = new OwnerTaskVersions(100);
+        var bus = new RecordingBus(versions, 4, 10, 100);
+        try {
+            bus.subscribe(1L);
+            bus.next();
+
+            bus.heartbeat();
+            assertEquals("ping", bus.sent.poll(5, TimeUnit.SECONDS));
+
+            bus.hold();
+            bus.heartbeat();
+            bus.awaitHeld();
+            change(versions, bus, 1L);
+            bus.heartbeat();
+            bus.release();
+
+            assertEquals("ping", bus.sent.poll(5, TimeUnit.SECONDS));
+            assertEquals(versions.current(1L), bus.next());
+            assertNull(bus.sent.poll(200, TimeUnit.MILLISECONDS));
+        } finally {
+            bus.stop();
+        }
+    }
+
+    // What the transaction listeners do after a commit: the version moves first, then the bus fans it out.
+    private static void change(OwnerTaskVersions versions, TaskEventBus bus, Long ownerId) {
+        var event = new TaskChangedEvent(ownerId);
+        versions.onTaskChanged(event);
+        bus.onTaskChanged(event);
+    }
+
+    /** Records what each stream is sent ("ping" or the version); an optional gate holds the delivery thread. */
+    private static final class RecordingBus extends TaskEventBus {
+        private static final Pattern ID = Pattern.compile("id:(\\d+)");
+
+        final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private volatile CountDownLatch held;
+        private volatile CountDownLatch gate;
+
+        RecordingBus(OwnerTaskVersions versions, int bufferSize, int maxPerOwner, int maxSubscribers) {
+            super(versions, bufferSize, maxPerOwner, maxSubscribers, 60_000, 1);
+        }
+
+        @Override
+        SseEmitter newEmitter() {
+            return new SseEmitter(60_000L) {
+                @Override
+                public void send(SseEventBuilder builder) {
+                    // Only the first send after hold() waits.
+                    if (held != null && held.getCount() > 0) {
+                        held.countDown();
+                        await(gate);
+                    }
+                    List<String> parts = new ArrayList<>();
+                    builder.build().forEach(part -> parts.add(String.valueOf(part.getData())));
+                    String text = String.join("", parts);
+                    Matcher id = ID.matcher(text);
+                    sent.add(id.find() ? id.group(1) : text.contains("ping") ? "ping" : text);
+                }
+            };
+        }
+
+        long next() throws InterruptedException {
+            String event = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "no event delivered");
+            return Long.parseLong(event);
+        }
+
+        /** The next send blocks until {@link #release()}. */
+        void hold() {
+            held = new CountDownLatch(1);
+            gate = new CountDownLatch(1);
+        }
+
+        void awaitHeld() {
+            await(held);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        private static void await(CountDownLatch latch) {
+            try {
+                assertTrue(latch.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.Task.Manage.metrics;
+
+import com.example.Task.Manage.exception.NotFoundException;
+import com.example.Task.Manage.repository.TaskRepository;
+import com.example.Task.Manage.repository.TaskTombstoneRepository;
+import com.example.Task.Manage.repository.UserRepository;
+import com.example.Task.Manage.service.TaskService;
+import com.example.Task.Manage.service.TaskStatsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceMetricsAspectTest {
+
+    @Test
+    void failedCall_isTimedUnderItsOutcome() {
+        var registry = new SimpleMeterRegistry();
+        TaskRepository tasks = mock(TaskRepository.class);
+        when(tasks.deleteOwned(eq(1L), eq(5L), any())).thenReturn(0);
+        var target = new TaskService(tasks, mock(UserRepository.class), mock(TaskTombstoneRepository.class),
+                mock(TaskStatsService.class), mock(ApplicationEventPublisher.class));
+        var factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        TaskService service = factory.getProxy();
+
+        assertThrows(NotFoundException.class, () -> service.delete(1L, 5L));
+
+        assertEquals(1, registry.get("service.duration")
+                .tags("service", "TaskService", "method", "delete", "outcome", "not_found")
+                .timer().count());
+        assertNull(registry.find("service.duration").tag("outcome", "success").timer());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.Task.Manage.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementCounterTest {
+
+    @Test
+    void countsWindowAndReportsMostRepeatedSelect() {
+        var counter = new SqlStatementCounter();
+        counter.inspect("select 1");
+
+        counter.begin();
+        counter.inspect("select * from users where id=?");
+        for (int i = 0; i < 3; i++) {
+            counter.inspect("select * from tasks where user_id=?");
+            counter.inspect("insert into task_stats values (?)");
+        }
+        SqlStatementCounter.Usage usage = counter.end();
+
+        assertEquals(7, usage.statements());
+        assertEquals("select * from tasks where user_id=?", usage.repeatedSelect());
+        assertEquals(3, usage.repeatedSelectCount());
+        assertEquals(0, counter.count());
+    }
+}
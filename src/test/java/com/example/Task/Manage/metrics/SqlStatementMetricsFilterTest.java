@@ -0,0 +1,101 @@
+package com.example.Task.Manage.metrics;
+
+import com.example.Task.Manage.Enum.SqlBudgetMode;
+import com.example.Task.Manage.exception.SqlBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementMetricsFilterTest {
+
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void failMode_rejectsAHandlerOverItsBudget() throws Exception {
+        var filter = new SqlStatementMetricsFilter(counter, registry, SqlBudgetMode.FAIL, 10, 5);
+
+        var e = assertThrows(SqlBudgetExceededException.class,
+                () -> filter.doFilter(request("twoStatements"), new MockHttpServletResponse(), handler(3)));
+
+        assertEquals("GET /probe ran 3 SQL statements, budget is 2", e.getMessage());
+        assertEquals(1, exceeded("budget"));
+        assertEquals(3, registry.get("http.server.sql.statements").tags("method", "GET", "uri", "/probe")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void failMode_passesAHandlerWithinItsBudget_andAppliesTheDefaultToUnannotatedOnes() {
+        var filter = new SqlStatementMetricsFilter(counter, registry, SqlBudgetMode.FAIL, 10, 5);
+
+        assertDoesNotThrow(() -> filter.doFilter(request("twoStatements"), new MockHttpServletResponse(), handler(2)));
+        assertDoesNotThrow(() -> filter.doFilter(request("noBudget"), new MockHttpServletResponse(), handler(4)));
+        assertThrows(SqlBudgetExceededException.class,
+                () -> filter.doFilter(request("noBudget"), new MockHttpServletResponse(), handler(11)));
+    }
+
+    @Test
+    void failMode_rejectsARepeatedSelect_unlessTheHandlerIsUnlimited() {
+        var filter = new SqlStatementMetricsFilter(counter, registry, SqlBudgetMode.FAIL, 10, 5);
+
+        var e = assertThrows(SqlBudgetExceededException.class,
+                () -> filter.doFilter(request("noBudget"), new MockHttpServletResponse(), sameSelect(5)));
+        assertTrue(e.getMessage().contains("possible N+1"), e.getMessage());
+        assertDoesNotThrow(() -> filter.doFilter(request("unlimited"), new MockHttpServletResponse(), sameSelect(50)));
+        assertEquals(1, exceeded("repeated_select"));
+    }
+
+    @Test
+    void logMode_countsTheViolation_withoutFailingTheRequest() {
+        var filter = new SqlStatementMetricsFilter(counter, registry, SqlBudgetMode.LOG, 10, 5);
+
+        assertDoesNotThrow(() -> filter.doFilter(request("twoStatements"), new MockHttpServletResponse(), handler(3)));
+        assertEquals(1, exceeded("budget"));
+    }
+
+    private double exceeded(String kind) {
+        var violations = registry.find("http.server.sql.budget.exceeded").tags("uri", "/probe", "kind", kind).counter();
+        return violations == null ? 0 : violations.count();
+    }
+
+    // What the dispatcher leaves on the request for the filter to read once the handler has run.
+    private static MockHttpServletRequest request(String handlerMethod) throws NoSuchMethodException {
+        var request = new MockHttpServletRequest("GET", "/probe");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/probe");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new Handlers(), Handlers.class.getDeclaredMethod(handlerMethod)));
+        return request;
+    }
+
+    private FilterChain handler(int statements) {
+        return (req, res) -> {
+            for (int i = 0; i < statements; i++) {
+                counter.inspect("update tasks set status=? where id=" + i);
+            }
+        };
+    }
+
+    private FilterChain sameSelect(int times) {
+        return (req, res) -> {
+            for (int i = 0; i < times; i++) {
+                counter.inspect("select * from tasks where id=?");
+            }
+        };
+    }
+
+    static class Handlers {
+        @SqlBudget(2)
+        void twoStatements() {}
+
+        void noBudget() {}
+
+        @SqlBudget(SqlBudget.UNLIMITED)
+        void unlimited() {}
+    }
+}
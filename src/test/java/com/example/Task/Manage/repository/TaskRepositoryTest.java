@@ -1,13 +1,17 @@
 package com.example.Task.Manage.repository;
 
 
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.Enum.TaskStatus;
 import com.example.Task.Manage.model.Task;
 import com.example.Task.Manage.model.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
+import java.time.Instant;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class TaskRepositoryTest {
 
     @Autowired TaskRepository tasks;
+    @Autowired TaskTombstoneRepository tombstones;
     @Autowired
     TestEntityManager em;
 
@@ -38,4 +43,59 @@ class TaskRepositoryTest {
 
         assertEquals(2, list.size());
     }
+
+    @Test
+    void keysetPage_filtersByStatus_andStartsAfterCursor() {
+        var user = new User();
+        user.setEmail("k@example.com");
+        user.setName("Keyset User");
+        user.setPasswordHash("x");
+        em.persist(user);
+
+        Task first = null;
+        for (int i = 0; i < 5; i++) {
+            var t = new Task();
+            t.setTitle("T" + i);
+            t.setStatus(i % 2 == 0 ? TaskStatus.DONE : TaskStatus.INPROGRESS);
+            t.setOwner(user);
+            em.persist(t);
+            if (first == null) first = t;
+        }
+        em.flush();
+
+        List<TaskResponse> page = tasks.findPageByStatus(user.getId(), TaskStatus.DONE, first.getId(), Limit.of(10));
+
+        assertEquals(2, page.size());
+        assertTrue(page.get(0).id() < page.get(1).id());
+        assertTrue(page.stream().allMatch(t -> t.status() == TaskStatus.DONE));
+    }
+
+    @Test
+    void deletedTask_leavesTombstone_andChangesFollowKeyset() {
+        var user = new User();
+        user.setEmail("s@example.com");
+        user.setName("Sync User");
+        user.setPasswordHash("x");
+        em.persist(user);
+        var kept = new Task();
+        kept.setTitle("kept"); kept.setOwner(user);
+        var gone = new Task();
+        gone.setTitle("gone"); gone.setStatus(TaskStatus.INPROGRESS); gone.setOwner(user);
+        em.persist(kept); em.persist(gone);
+        em.flush();
+
+        Instant at = Task.now();
+        assertEquals(1, tombstones.recordDeletion(user.getId(), List.of(gone.getId(), -1L), at));
+        assertEquals(0, tasks.deleteOwned(user.getId(), gone.getId(), TaskStatus.DONE));
+        assertEquals(1, tasks.deleteOwned(user.getId(), gone.getId(), TaskStatus.INPROGRESS));
+        em.clear();
+
+        Instant horizon = at.plusSeconds(1);
+        List<TaskResponse> changed = tasks.findChangedSince(user.getId(), Instant.EPOCH, 0L, horizon, Limit.of(10));
+        assertEquals(List.of(kept.getId()), changed.stream().map(TaskResponse::id).toList());
+        assertNotNull(changed.get(0).updatedAt());
+        assertEquals(gone.getId(), tombstones.findDeletedSince(user.getId(), Instant.EPOCH, 0L, horizon, Limit.of(10))
+                .get(0).getTaskId());
+        assertTrue(tasks.findChangedSince(user.getId(), changed.get(0).updatedAt(), kept.getId(), horizon, Limit.of(10)).isEmpty());
+    }
 }
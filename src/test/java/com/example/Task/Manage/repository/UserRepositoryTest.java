@@ -0,0 +1,61 @@
+package com.example.Task.Manage.repository;
+
+import com.example.Task.Manage.config.CacheConfig;
+import com.example.Task.Manage.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureCache(cacheProvider = CacheType.SIMPLE)
+@Import(CacheConfig.class)
+class UserRepositoryTest {
+
+    @Autowired UserRepository users;
+
+    @Test
+    void deleteById_evictsCachedCredentials() {
+        User user = users.save(user("a@example.com", "h1"));
+        assertTrue(users.findCredentialsByEmail("a@example.com").isPresent());
+
+        users.deleteById(user.getId());
+
+        assertTrue(users.findCredentialsByEmail("a@example.com").isEmpty());
+    }
+
+    @Test
+    void saveAll_evictsCachedCredentials() {
+        User user = users.save(user("b@example.com", "h1"));
+        assertEquals("h1", users.findCredentialsByEmail("b@example.com").orElseThrow().passwordHash());
+
+        user.setPasswordHash("h2");
+        users.saveAll(List.of(user));
+
+        assertEquals("h2", users.findCredentialsByEmail("b@example.com").orElseThrow().passwordHash());
+    }
+
+    @Test
+    void deleteAll_evictsCachedCredentials() {
+        users.save(user("c@example.com", "h1"));
+        assertTrue(users.findCredentialsByEmail("c@example.com").isPresent());
+
+        users.deleteAll();
+
+        assertTrue(users.findCredentialsByEmail("c@example.com").isEmpty());
+    }
+
+    private static User user(String email, String hash) {
+        var user = new User();
+        user.setEmail(email);
+        user.setName("Test User");
+        user.setPasswordHash(hash);
+        return user;
+    }
+}
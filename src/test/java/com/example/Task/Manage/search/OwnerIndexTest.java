@@ -0,0 +1,55 @@
+package com.example.Task.Manage.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OwnerIndexTest {
+
+    @Test
+    void search_ranksTitleMatchesAboveDescriptionMatches() {
+        var index = new OwnerIndex();
+        index.add(1L, "Groceries", "buy milk and invoice paper");
+        index.add(2L, "Send invoice", "to ACME");
+        index.add(3L, "Call mom", null);
+
+        var hits = index.search(List.of("invoice"), 0, 10);
+
+        assertEquals(List.of(2L, 1L), hits.taskIds());
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    void search_pagesAndSkipsRemovedTasks() {
+        var index = new OwnerIndex();
+        for (long id = 1; id <= 5; id++) {
+            index.add(id, "report " + id, null);
+        }
+        index.remove(2L);
+
+        var first = index.search(OwnerIndex.tokenize("Report"), 0, 2);
+        var second = index.search(OwnerIndex.tokenize("Report"), 2, 2);
+
+        assertEquals(4, first.total());
+        assertEquals(List.of(1L, 3L), first.taskIds());
+        assertEquals(List.of(4L, 5L), second.taskIds());
+    }
+
+    @Test
+    void compaction_keepsLiveTasksSearchable() {
+        var index = new OwnerIndex();
+        for (long id = 1; id <= 3000; id++) {
+            index.add(id, id % 2 == 0 ? "even task" : "odd task", null);
+        }
+        for (long id = 1; id <= 2500; id++) {
+            index.remove(id);
+        }
+
+        var hits = index.search(List.of("even"), 0, 1000);
+
+        assertEquals(250, hits.total());
+        assertEquals(2502L, hits.taskIds().get(0));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.Task.Manage.search;
+
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.event.OwnerTaskVersions;
+import com.example.Task.Manage.event.TaskChangedEvent;
+import com.example.Task.Manage.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchIndexTest {
+
+    private static final Long OWNER = 1L;
+
+    @Mock TaskRepository tasks;
+    @Mock PlatformTransactionManager transactionManager;
+
+    private OwnerTaskVersions versions;
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        versions = new OwnerTaskVersions(100);
+        index = new TaskSearchIndex(tasks, versions, transactionManager, 1_000_000);
+    }
+
+    @Test
+    void changeCommittedDuringTheBuild_discardsThatBuild_andRebuilds() {
+        stubTransactions();
+        TaskResponse a = task(1L, "report a");
+        TaskResponse b = task(2L, "report b");
+        TaskResponse c = task(3L, "report c");
+        // The first read misses c; c commits while it runs, before any index exists to take the event.
+        when(tasks.streamByOwner(OWNER))
+                .thenAnswer(inv -> {
+                    commit(new TaskChangedEvent(OWNER, List.of(c), List.of()));
+                    return Stream.of(a, b);
+                })
+                .thenAnswer(inv -> Stream.of(a, b, c));
+
+        TaskSearchIndex.Hits hits = index.search(OWNER, "report", 0, 10);
+
+        assertEquals(List.of(1L, 2L, 3L), hits.taskIds());
+        assertEquals(3, hits.total());
+        verify(tasks, times(2)).streamByOwner(OWNER);
+    }
+
+    @Test
+    void writesDuringEveryBuild_endInABuildThatHoldsOffUpdates() {
+        stubTransactions();
+        TaskResponse a = task(1L, "report a");
+        when(tasks.streamByOwner(OWNER)).thenAnswer(inv -> {
+            commit(new TaskChangedEvent(OWNER));
+            return Stream.of(a);
+        });
+
+        assertEquals(List.of(1L), index.search(OWNER, "report", 0, 10).taskIds());
+        verify(tasks, times(4)).streamByOwner(OWNER);
+
+        // Installed this time: the next search does not read the database again.
+        index.search(OWNER, "report", 0, 10);
+        verify(tasks, times(4)).streamByOwner(OWNER);
+    }
+
+    @Test
+    void createdAndDeletedTasks_updateTheInstalledIndex_withoutARebuild() {
+        stubTransactions();
+        when(tasks.streamByOwner(OWNER)).thenReturn(Stream.of(task(1L, "report a"), task(2L, "report b")));
+        index.search(OWNER, "report", 0, 10);
+
+        commit(new TaskChangedEvent(OWNER, List.of(task(3L, "report c"), task(4L, "lunch")), List.of(1L)));
+        commit(new TaskChangedEvent(OWNER));
+
+        assertEquals(List.of(2L, 3L), index.search(OWNER, "report", 0, 10).taskIds());
+        assertEquals(List.of(4L), index.search(OWNER, "lunch", 0, 10).taskIds());
+        verify(tasks, times(1)).streamByOwner(OWNER);
+    }
+
+    @Test
+    void changesForOwnersWithoutAnIndex_areIgnored() {
+        commit(new TaskChangedEvent(OWNER, List.of(task(1L, "report a")), List.of()));
+
+        verify(tasks, never()).streamByOwner(anyLong());
+    }
+
+    @Test
+    void offsetPages_shareOneTotal() {
+        stubTransactions();
+        when(tasks.streamByOwner(OWNER)).thenReturn(Stream.of(
+                task(1L, "report 1"), task(2L, "report 2"), task(3L, "report 3"),
+                task(4L, "report 4"), task(5L, "report 5"), task(6L, "lunch")));
+
+        TaskSearchIndex.Hits first = index.search(OWNER, "report", 0, 2);
+        TaskSearchIndex.Hits last = index.search(OWNER, "report", 4, 2);
+        TaskSearchIndex.Hits past = index.search(OWNER, "report", 6, 2);
+
+        assertEquals(List.of(1L, 2L), first.taskIds());
+        assertEquals(List.of(5L), last.taskIds());
+        assertTrue(past.taskIds().isEmpty());
+        assertEquals(5, first.total());
+        assertEquals(5, last.total());
+        assertEquals(5, past.total());
+    }
+
+    @Test
+    void queryWithoutTerms_findsNothing_andBuildsNothing() {
+        TaskSearchIndex.Hits hits = index.search(OWNER, " -- ", 0, 10);
+
+        assertEquals(TaskSearchIndex.Hits.EMPTY, hits);
+        verify(tasks, never()).streamByOwner(anyLong());
+    }
+
+    // What the after-commit listeners do, in their order: the version moves, then the index is updated.
+    private void commit(TaskChangedEvent event) {
+        versions.onTaskChanged(event);
+        index.onTaskChanged(event);
+    }
+
+    private void stubTransactions() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private static TaskResponse task(Long id, String title) {
+        return new TaskResponse(id, title, null, TaskStatus.INPROGRESS, 0L, null);
+    }
+}
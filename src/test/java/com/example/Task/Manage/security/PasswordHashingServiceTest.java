@@ -0,0 +1,93 @@
+package com.example.Task.Manage.security;
+
+import com.example.Task.Manage.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    @Test
+    void hash_roundTrips_andCostChangeNeedsRehash() throws Exception {
+        var hashing = new PasswordHashingService(4, 1, 4, 5_000, new SimpleMeterRegistry());
+        try {
+            String hash = hashing.hash("pw");
+
+            assertTrue(hashing.matches("pw", hash));
+            assertFalse(hashing.matches("other", hash));
+            assertFalse(hashing.needsRehash(hash));
+            assertTrue(hashing.needsRehash(hash.replace("$04$", "$10$")));
+        } finally {
+            hashing.stop();
+        }
+    }
+
+    @Test
+    void workOverTimeout_isRejected_butKeepsItsWorker() throws Exception {
+        var release = new CountDownLatch(1);
+        var registry = new SimpleMeterRegistry();
+        var hashing = new PasswordHashingService(10, blockingEncoder(release), 1, 1, 50, registry);
+        try {
+            var ex = assertThrows(ServiceOverloadedException.class, () -> hashing.hash("pw"));
+
+            assertTrue(ex.getRetryAfterSeconds() >= 1);
+            assertEquals(1.0, registry.get("auth.hashing.rejected").counter().count());
+            assertEquals(1.0, registry.get("auth.hashing.active").gauge().value());
+        } finally {
+            release.countDown();
+            hashing.stop();
+        }
+    }
+
+    @Test
+    void fullQueue_isRejectedWithoutWaiting() throws Exception {
+        var release = new CountDownLatch(1);
+        var registry = new SimpleMeterRegistry();
+        var hashing = new PasswordHashingService(10, blockingEncoder(release), 1, 1, 5_000, registry);
+        var pool = Executors.newFixedThreadPool(2);
+        try {
+            pool.submit(() -> hashing.hash("running"));
+            pool.submit(() -> hashing.hash("queued"));
+            while (registry.get("auth.hashing.queue.size").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+
+            assertThrows(ServiceOverloadedException.class, () -> hashing.matches("pw", "hash"));
+            assertEquals(1.0, registry.get("auth.hashing.rejected").counter().count());
+        } finally {
+            release.countDown();
+            pool.shutdown();
+            hashing.stop();
+        }
+    }
+
+    /** Stands in for an expensive BCrypt cost: every call blocks until the latch opens. */
+    private static PasswordEncoder blockingEncoder(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                await();
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                await();
+                return true;
+            }
+
+            private void await() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+}
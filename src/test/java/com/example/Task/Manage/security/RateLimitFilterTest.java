@@ -0,0 +1,88 @@
+package com.example.Task.Manage.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The limiter inside the real security chain: bearer tokens go through {@link JwtAuthenticationFilter} first,
+ * so user-keyed rules count per signed-in user. Small rules with an hour's refill keep the buckets from
+ * refilling mid-test.
+ */
+@SpringBootTest(properties = {
+        "app.ratelimit.rules[0].name=stats",
+        "app.ratelimit.rules[0].path=/tasks/stats",
+        "app.ratelimit.rules[0].key=USER",
+        "app.ratelimit.rules[0].capacity=2",
+        "app.ratelimit.rules[0].refillEvery=1h",
+        "app.ratelimit.rules[1].name=login",
+        "app.ratelimit.rules[1].path=/auth/login",
+        "app.ratelimit.rules[1].methods=POST",
+        "app.ratelimit.rules[1].key=IP",
+        "app.ratelimit.rules[1].capacity=1",
+        "app.ratelimit.rules[1].refillEvery=1h"
+})
+@AutoConfigureMockMvc
+class RateLimitFilterTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired JwtUtils jwtUtils;
+
+    @Test
+    void userRule_rejectsWith429_retryAfter_andErrorBody_perSignedInUser() throws Exception {
+        String alice = bearer(9001L, "alice@example.com");
+        String bob = bearer(9002L, "bob@example.com");
+
+        mvc.perform(stats(alice)).andExpect(status().isOk());
+        mvc.perform(stats(alice)).andExpect(status().isOk());
+        mvc.perform(stats(alice))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3600"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"))
+                .andExpect(jsonPath("$.message").value("Rate limit exceeded, retry in 3600s"))
+                .andExpect(jsonPath("$.path").value("/tasks/stats"));
+
+        // Same client address, different user: its own bucket.
+        mvc.perform(stats(bob)).andExpect(status().isOk());
+    }
+
+    @Test
+    void ipRule_countsPerClientAddress_beforeCredentialsAreChecked() throws Exception {
+        mvc.perform(login("10.0.0.1")).andExpect(status().is(not(429)));
+        mvc.perform(login("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        mvc.perform(login("10.0.0.2")).andExpect(status().is(not(429)));
+    }
+
+    private String bearer(Long userId, String email) {
+        return "Bearer " + jwtUtils.generateAccessToken(userId, email);
+    }
+
+    private static MockHttpServletRequestBuilder stats(String bearer) {
+        return get("/tasks/stats").header(HttpHeaders.AUTHORIZATION, bearer);
+    }
+
+    private static MockHttpServletRequestBuilder login(String remoteAddr) {
+        return post("/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"nobody@example.com\",\"password\":\"wrong-password\"}");
+    }
+}
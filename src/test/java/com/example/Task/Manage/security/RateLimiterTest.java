@@ -0,0 +1,90 @@
+package com.example.Task.Manage.security;
+
+import com.example.Task.Manage.Enum.RateLimitKey;
+import com.example.Task.Manage.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void bucket_allowsBurst_thenOneTokenPerInterval() {
+        var bucket = new TokenBucket(0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(0, SECOND, 3));
+        }
+
+        assertEquals(SECOND, bucket.tryAcquire(0, SECOND, 3));
+        assertEquals(0, bucket.tryAcquire(SECOND, SECOND, 3));
+        assertFalse(bucket.isFull(SECOND));
+        assertTrue(bucket.isFull(4 * SECOND));
+    }
+
+    @Test
+    void bucket_grantsExactlyCapacity_underContention() throws Exception {
+        var bucket = new TokenBucket(0);
+        var granted = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 1000; i++) {
+                        if (bucket.tryAcquire(0, SECOND, 100) == 0) granted.incrementAndGet();
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(100, granted.get());
+    }
+
+    @Test
+    void limiter_appliesFirstMatchingRulePerKey_andSweepsFullBuckets() {
+        var now = new AtomicLong();
+        var limiter = new RateLimiter(new RateLimitProperties(true, Duration.ofMinutes(1), List.of(
+                new RateLimitProperties.Rule("login", "/auth/login", List.of("POST"), RateLimitKey.IP, 2, Duration.ofSeconds(10)))),
+                now::get);
+
+        assertEquals(0, limiter.tryAcquire(request("POST", "/auth/login", "10.0.0.1")));
+        assertEquals(0, limiter.tryAcquire(request("POST", "/auth/login", "10.0.0.1")));
+        assertEquals(10 * SECOND, limiter.tryAcquire(request("POST", "/auth/login", "10.0.0.1")));
+        assertEquals(0, limiter.tryAcquire(request("POST", "/auth/login", "10.0.0.2")));
+        assertEquals(0, limiter.tryAcquire(request("GET", "/auth/login", "10.0.0.1")));
+        assertEquals(0, limiter.tryAcquire(request("POST", "/auth/register", "10.0.0.1")));
+        assertEquals(2, limiter.bucketCount());
+
+        now.set(20 * SECOND);
+        limiter.sweep();
+
+        assertEquals(0, limiter.bucketCount());
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String ip) {
+        var request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.Task.Manage.security;
+
+import com.example.Task.Manage.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBlacklistServiceTest {
+
+    private static final long REFRESH_MILLIS = 604_800_000L;
+
+    @Test
+    void revoke_isVisibleUntilExpiry() {
+        var store = new TokenBlacklistService(100, REFRESH_MILLIS, 30_000, "");
+        long now = System.currentTimeMillis();
+
+        store.revoke("live", now + 60_000);
+        store.revoke("already-expired", now - 1);
+
+        assertTrue(store.isRevoked("live"));
+        assertFalse(store.isRevoked("already-expired"));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void sizeBound_refusesNewRevocations_andKeepsExistingOnes() {
+        var store = new TokenBlacklistService(2, REFRESH_MILLIS, 30_000, "");
+        long now = System.currentTimeMillis();
+
+        store.revoke("soon", now + 60_000);
+        store.revoke("later", now + 10 * 60_000);
+
+        assertTrue(store.isFull());
+        assertThrows(ServiceOverloadedException.class, () -> store.revoke("latest", now + 20 * 60_000));
+        assertDoesNotThrow(() -> store.revoke("soon", now + 60_000));
+        assertTrue(store.isRevoked("soon"));
+        assertTrue(store.isRevoked("later"));
+        assertFalse(store.isRevoked("latest"));
+    }
+
+    @Test
+    void userRevocation_outlivesAccessTokens_untilRefreshTokensExpire() {
+        var store = new TokenBlacklistService(100, REFRESH_MILLIS, 30_000, "");
+        long now = System.currentTimeMillis();
+
+        store.revokeUser(7L, now - 2 * 900_000L);
+        store.revokeUser(8L, now - REFRESH_MILLIS - 60_000);
+        store.sweep();
+
+        assertTrue(store.isUserRevoked(7L, now - 3 * 900_000L));
+        assertFalse(store.isUserRevoked(8L, now - REFRESH_MILLIS - 120_000));
+    }
+
+    @Test
+    void snapshot_survivesRestart(@TempDir Path dir) {
+        String file = dir.resolve("revoked.bin").toString();
+        long now = System.currentTimeMillis();
+
+        var before = new TokenBlacklistService(100, REFRESH_MILLIS, 30_000, file);
+        before.revoke("jti-1", now + 60_000);
+        before.revokeUser(7L, now);
+        before.snapshot();
+
+        var after = new TokenBlacklistService(100, REFRESH_MILLIS, 30_000, file);
+        after.start();
+        try {
+            assertTrue(after.isRevoked("jti-1"));
+            assertTrue(after.isUserRevoked(7L, now - 5_000));
+        } finally {
+            assertDoesNotThrow(after::stop);
+        }
+    }
+}
@@ -3,17 +3,24 @@ package com.example.Task.Manage.service;
 import com.example.Task.Manage.DTOs.Request.LoginRequest;
 import com.example.Task.Manage.DTOs.Request.RegisterRequest;
 import com.example.Task.Manage.DTOs.Response.LoginResponse;
+import com.example.Task.Manage.exception.ServiceOverloadedException;
 import com.example.Task.Manage.model.User;
+import com.example.Task.Manage.model.UserCredentials;
 import com.example.Task.Manage.repository.UserRepository;
 import com.example.Task.Manage.security.JwtUtils;
+import com.example.Task.Manage.security.PasswordHashingService;
+import com.example.Task.Manage.security.TokenBlacklistService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Date;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,31 +31,38 @@ import static org.mockito.Mockito.*;
 class AuthServiceTest {
 
     @Mock UserRepository users;
-    @Mock PasswordEncoder encoder;
+    @Mock PasswordHashingService hashing;
     @Mock JwtUtils jwtUtils;
+    @Mock TokenBlacklistService blacklist;
+    @Mock TaskStatsService taskStats;
 
     @InjectMocks AuthService service;
 
     @Test
     void register_savesUser_andReturnsExpected() {
-        when(encoder.encode("pw")).thenReturn("hash");
-        when(users.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(jwtUtils.generateAccessToken("e@example.com")).thenReturn("abc");
+        when(hashing.hash("pw")).thenReturn("hash");
+        when(users.save(any())).thenAnswer(inv -> {
+            User saved = inv.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+        when(jwtUtils.generateAccessToken(1L, "e@example.com")).thenReturn("abc");
 
          service.register(new RegisterRequest("e@example.com", "pw","name" ));
 
-        assertEquals("abc", jwtUtils.generateAccessToken("e@example.com"));
+        assertEquals("abc", jwtUtils.generateAccessToken(1L, "e@example.com"));
         verify(users, times(1)).save(any(User.class));
-        verify(encoder).encode("pw");
-        verify(jwtUtils).generateAccessToken("e@example.com");
+        verify(hashing).hash("pw");
+        verify(taskStats).createCounters(1L);
+        verify(jwtUtils).generateAccessToken(1L, "e@example.com");
     }
 
     @Test
     void login_valid_returnsExpected() {
-        var u = User.builder().id(1L).email("e@example.com").passwordHash("hash").build();
-        when(users.findByEmail("e@example.com")).thenReturn(Optional.of(u));
-        when(encoder.matches("pw", "hash")).thenReturn(true);
-        when(jwtUtils.generateAccessToken("e@example.com")).thenReturn("tok");
+        var u = new UserCredentials(1L, "e@example.com", "hash");
+        when(users.findCredentialsByEmail("e@example.com")).thenReturn(Optional.of(u));
+        when(hashing.matches("pw", "hash")).thenReturn(true);
+        when(jwtUtils.generateAccessToken(1L, "e@example.com")).thenReturn("tok");
         when(jwtUtils.getAccessExpirationMillis()).thenReturn(900_000L);
         when(jwtUtils.generateRefreshToken("e@example.com")).thenReturn("rtok");
         when(jwtUtils.getRefreshExpirationMillis()).thenReturn(604_800_000L);
@@ -59,23 +73,65 @@ class AuthServiceTest {
         assertEquals("rtok", result.refreshToken());
         assertEquals(900_000L, result.expiresInMillis());
         assertEquals(604_800_000L, result.refreshExpiresInMillis());
-        verify(users).findByEmail("e@example.com");
-        verify(encoder).matches("pw", "hash");
-        verify(jwtUtils).generateAccessToken("e@example.com");
+        verify(users).findCredentialsByEmail("e@example.com");
+        verify(hashing).matches("pw", "hash");
+        verify(jwtUtils).generateAccessToken(1L, "e@example.com");
         verify(jwtUtils).generateRefreshToken("e@example.com");
     }
 
+    @Test
+    void login_hashWithOutdatedCost_isRehashed() {
+        var u = new UserCredentials(1L, "e@example.com", "old");
+        when(users.findCredentialsByEmail("e@example.com")).thenReturn(Optional.of(u));
+        when(hashing.matches("pw", "old")).thenReturn(true);
+        when(hashing.needsRehash("old")).thenReturn(true);
+        when(hashing.hash("pw")).thenReturn("new");
+
+        service.login(new LoginRequest("e@example.com", "pw"));
+
+        verify(users).updatePasswordHash(1L, "e@example.com", "new");
+    }
+
     @Test
     void login_invalidPassword_throws() {
-        var u = User.builder().id(1L).email("e@example.com").passwordHash("hash").build();
-        when(users.findByEmail("e@example.com")).thenReturn(Optional.of(u));
-        when(encoder.matches("bad", "hash")).thenReturn(false);
+        var u = new UserCredentials(1L, "e@example.com", "hash");
+        when(users.findCredentialsByEmail("e@example.com")).thenReturn(Optional.of(u));
+        when(hashing.matches("bad", "hash")).thenReturn(false);
 
         assertThrows(BadCredentialsException.class, () -> service.login(new LoginRequest("e@example.com", "bad")));
 
-        verify(users).findByEmail("e@example.com");
-        verify(encoder).matches("bad", "hash");
-        verify(jwtUtils, never()).generateAccessToken(any());
+        verify(users).findCredentialsByEmail("e@example.com");
+        verify(hashing).matches("bad", "hash");
+        verify(jwtUtils, never()).generateAccessToken(any(), any());
+        verify(jwtUtils, never()).generateRefreshToken(any());
+    }
+
+    @Test
+    void login_whileRevocationStoreIsFull_issuesNoTokens() {
+        var u = new UserCredentials(1L, "e@example.com", "hash");
+        when(users.findCredentialsByEmail("e@example.com")).thenReturn(Optional.of(u));
+        when(hashing.matches("pw", "hash")).thenReturn(true);
+        when(blacklist.isFull()).thenReturn(true);
+
+        assertThrows(ServiceOverloadedException.class, () -> service.login(new LoginRequest("e@example.com", "pw")));
+
+        verify(jwtUtils, never()).generateAccessToken(any(), any());
+    }
+
+    @Test
+    void refresh_withTokenIssuedBeforeLogoutAll_throws() {
+        var u = new UserCredentials(1L, "e@example.com", "hash");
+        Claims claims = Jwts.claims().setSubject("e@example.com").setIssuedAt(new Date(1_000_000L));
+        claims.put("typ", "refresh");
+        Jws<Claims> jws = mock();
+        when(jws.getBody()).thenReturn(claims);
+        when(jwtUtils.parse("rtok")).thenReturn(jws);
+        when(users.findCredentialsByEmail("e@example.com")).thenReturn(Optional.of(u));
+        when(blacklist.isUserRevoked(1L, 1_000_000L)).thenReturn(true);
+
+        assertThrows(BadCredentialsException.class, () -> service.refresh("rtok"));
+
+        verify(jwtUtils, never()).generateAccessToken(any(), any());
         verify(jwtUtils, never()).generateRefreshToken(any());
     }
 }
@@ -0,0 +1,108 @@
+package com.example.Task.Manage.service;
+
+import com.example.Task.Manage.DTOs.Request.TaskBatchRequest;
+import com.example.Task.Manage.DTOs.Request.TaskRequest;
+import com.example.Task.Manage.DTOs.Response.TaskBatchResponse;
+import com.example.Task.Manage.DTOs.Response.TaskStatsResponse;
+import com.example.Task.Manage.Enum.BatchItemStatus;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.model.User;
+import com.example.Task.Manage.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Batch deletes racing single-task writes on the same rows. Each test holds the other write open in its own
+ * transaction while the batch runs, so the batch has to wait for it and count what it actually deletes.
+ */
+@DataJpaTest
+@Import({TaskService.class, TaskStatsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskBatchCountersTest {
+
+    @Autowired TaskService service;
+    @Autowired TaskStatsService stats;
+    @Autowired UserRepository users;
+    @Autowired PlatformTransactionManager txManager;
+
+    private Long ownerId;
+    private Long first;
+    private Long second;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = users.save(User.builder()
+                .email("batch-" + UUID.randomUUID() + "@example.com").name("Batch").passwordHash("x").build()).getId();
+        first = service.create(ownerId, new TaskRequest("a", null, TaskStatus.INPROGRESS)).id();
+        second = service.create(ownerId, new TaskRequest("b", null, TaskStatus.INPROGRESS)).id();
+    }
+
+    @Test
+    void batchDelete_afterConcurrentStatusChange_decrementsTheNewStatus() throws Exception {
+        whileUncommitted(id -> service.changeStatus(ownerId, id, TaskStatus.DONE, null),
+                () -> service.applyBatch(ownerId, new TaskBatchRequest(null, null, List.of(first, second))));
+
+        assertEquals(new TaskStatsResponse(counts(0, 0), 0), stats.stats(ownerId));
+    }
+
+    @Test
+    void batchDelete_racingSingleDelete_decrementsOnlyWhatItDeleted() throws Exception {
+        TaskBatchResponse resp = whileUncommitted(id -> service.delete(ownerId, id),
+                () -> service.applyBatch(ownerId, new TaskBatchRequest(null, null, List.of(first, second))));
+
+        assertEquals(BatchItemStatus.NOT_FOUND, resp.deleted().get(0).status());
+        assertEquals(BatchItemStatus.DELETED, resp.deleted().get(1).status());
+        assertEquals(new TaskStatsResponse(counts(0, 0), 0), stats.stats(ownerId));
+    }
+
+    /** Applies {@code write} to the first task and keeps it uncommitted until {@code batch} has had time to start. */
+    private <T> T whileUncommitted(Consumer<Long> write, Callable<T> batch) throws Exception {
+        var written = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> new TransactionTemplate(txManager)
+                .executeWithoutResult(s -> {
+                    write.accept(first);
+                    written.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<T> batched = CompletableFuture.supplyAsync(() -> {
+            try {
+                return batch.call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(300);
+        release.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+        return batched.get(5, TimeUnit.SECONDS);
+    }
+
+    private static Map<TaskStatus, Long> counts(long inProgress, long done) {
+        return Map.of(TaskStatus.INPROGRESS, inProgress, TaskStatus.DONE, done);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.Task.Manage.service;
+
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.Enum.TaskDataFormat;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceTest {
+
+    @Mock TaskRepository tasks;
+
+    @Test
+    void export_writesOneJsonObjectPerLine() throws Exception {
+        when(tasks.streamByOwner(1L)).thenReturn(Stream.of(
+                new TaskResponse(1L, "a", null, TaskStatus.DONE, 0L, null),
+                new TaskResponse(2L, "b", "d", TaskStatus.INPROGRESS, 3L, null)));
+        var service = new TaskExportService(tasks, new ObjectMapper());
+        var out = new ByteArrayOutputStream();
+
+        long written = service.export(1L, TaskDataFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, written);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":1"));
+        assertTrue(lines[1].contains("\"status\":\"INPROGRESS\""));
+    }
+
+    @Test
+    void export_csvStartsWithHeader() throws Exception {
+        when(tasks.streamByOwner(1L)).thenReturn(Stream.of(new TaskResponse(1L, "a, b", null, TaskStatus.DONE, 0L, null)));
+        var service = new TaskExportService(tasks, new ObjectMapper());
+        var out = new ByteArrayOutputStream();
+
+        service.export(1L, TaskDataFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(lines[0].startsWith("id,"));
+        assertTrue(lines[1].contains("\"a, b\""));
+    }
+}
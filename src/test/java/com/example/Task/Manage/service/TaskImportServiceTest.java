@@ -0,0 +1,68 @@
+package com.example.Task.Manage.service;
+
+import com.example.Task.Manage.DTOs.Response.ImportError;
+import com.example.Task.Manage.DTOs.Response.TaskImportResponse;
+import com.example.Task.Manage.Enum.TaskDataFormat;
+import com.example.Task.Manage.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceTest {
+
+    @Mock EntityManager entityManager;
+    @Mock PlatformTransactionManager transactionManager;
+    @Mock ApplicationEventPublisher events;
+    @Mock TaskStatsService stats;
+
+    private TaskImportResponse importNdjson(String body) throws Exception {
+        var service = new TaskImportService(entityManager, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), events, stats,
+                new ObjectMapper());
+        return service.importTasks(1L, TaskDataFormat.NDJSON, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void ndjson_skipsInvalidRecords_andStopsAtMalformedJson() throws Exception {
+        TaskImportResponse result = importNdjson("""
+                {"title":"a"}
+                {"title":"b","status":"NOPE"}
+                {"title":""}
+
+                   {"title":"c"} {"title":"d"}
+                {"title":"e",
+                """);
+
+        assertEquals(3, result.imported());
+        assertEquals(3, result.failed());
+        assertEquals(List.of(2L, 3L, 7L), result.errors().stream().map(ImportError::line).toList());
+        assertTrue(result.errors().get(2).message().endsWith("the rest of the upload was not read"));
+        verify(entityManager, times(3)).persist(any(Task.class));
+    }
+
+    @Test
+    void ndjson_oversizedValue_isRejectedWithoutBindingIt() throws Exception {
+        TaskImportResponse result = importNdjson("{\"title\":\"" + "x".repeat(100_000) + "\"}\n{\"title\":\"a\"}\n");
+
+        assertEquals(0, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals(1L, result.errors().get(0).line());
+        assertTrue(result.errors().get(0).message().startsWith("String value length"));
+    }
+}
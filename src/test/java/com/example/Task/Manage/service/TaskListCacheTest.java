@@ -0,0 +1,60 @@
+package com.example.Task.Manage.service;
+
+import com.example.Task.Manage.DTOs.Response.TaskPageResponse;
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.Enum.PayloadFormat;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.event.OwnerTaskVersions;
+import com.example.Task.Manage.event.TaskChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskListCacheTest {
+
+    @Mock ObjectProvider<MeterRegistry> registry;
+
+    private final OwnerTaskVersions versions = new OwnerTaskVersions(100);
+
+    @Test
+    void page_serializesOnce_untilTheOwnerChangesTasks() {
+        var cache = new TaskListCache(versions, new ObjectMapper(), registry, 1 << 20);
+        var loads = new AtomicInteger();
+        var page = new TaskPageResponse(List.of(new TaskResponse(7L, "t", null, TaskStatus.DONE, 2L, null)), 7L);
+
+        byte[] first = cache.page(1L, cache.version(1L), PayloadFormat.JSON, null, null, null, () -> { loads.incrementAndGet(); return page; });
+        byte[] second = cache.page(1L, cache.version(1L), PayloadFormat.JSON, null, null, null, () -> { loads.incrementAndGet(); return page; });
+
+        assertEquals("{\"items\":[{\"id\":7,\"title\":\"t\",\"description\":null,\"status\":\"DONE\",\"version\":2,\"updatedAt\":null}],"
+                + "\"nextCursor\":7}", new String(first, StandardCharsets.UTF_8));
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+
+        versions.onTaskChanged(new TaskChangedEvent(1L));
+        cache.page(1L, cache.version(1L), PayloadFormat.JSON, null, null, null, () -> { loads.incrementAndGet(); return page; });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void page_inSmile_readsBackAsTheSamePage() throws Exception {
+        var cache = new TaskListCache(versions, new ObjectMapper(), registry, 1 << 20);
+        var page = new TaskPageResponse(List.of(new TaskResponse(7L, "t", null, TaskStatus.DONE, 2L, null)), 7L);
+
+        byte[] smile = cache.page(1L, cache.version(1L), PayloadFormat.SMILE, null, null, null, () -> page);
+
+        assertEquals(page, new ObjectMapper(new SmileFactory()).readValue(smile, TaskPageResponse.class));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.Task.Manage.service;
+
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.DTOs.Response.TaskSearchResponse;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.repository.TaskRepository;
+import com.example.Task.Manage.search.TaskSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchServiceTest {
+
+    @Mock TaskSearchIndex index;
+    @Mock TaskRepository tasks;
+    @InjectMocks TaskSearchService service;
+
+    @Test
+    void search_keepsTheRankOrder_andPointsAtTheNextPage() {
+        when(index.search(1L, "report", 0, 2)).thenReturn(new TaskSearchIndex.Hits(List.of(7L, 3L), 5));
+        when(tasks.findResponses(1L, List.of(7L, 3L))).thenReturn(List.of(task(3L), task(7L)));
+
+        TaskSearchResponse page = service.search(1L, "report", 0, 2);
+
+        assertEquals(List.of(7L, 3L), page.items().stream().map(TaskResponse::id).toList());
+        assertEquals(5, page.total());
+        assertEquals(2, page.nextOffset());
+    }
+
+    @Test
+    void search_lastPage_hasNoNextOffset() {
+        when(index.search(1L, "report", 4, 2)).thenReturn(new TaskSearchIndex.Hits(List.of(9L), 5));
+        when(tasks.findResponses(1L, List.of(9L))).thenReturn(List.of(task(9L)));
+
+        TaskSearchResponse page = service.search(1L, "report", 4, 2);
+
+        assertEquals(1, page.items().size());
+        assertEquals(5, page.total());
+        assertNull(page.nextOffset());
+    }
+
+    @Test
+    void search_skipsHitsDeletedBeforeTheyAreLoaded_butKeepsTheTotal() {
+        when(index.search(1L, "report", 0, 20)).thenReturn(new TaskSearchIndex.Hits(List.of(7L, 3L), 2));
+        when(tasks.findResponses(1L, List.of(7L, 3L))).thenReturn(List.of(task(3L)));
+
+        TaskSearchResponse page = service.search(1L, "report", null, null);
+
+        assertEquals(List.of(3L), page.items().stream().map(TaskResponse::id).toList());
+        assertEquals(2, page.total());
+        assertNull(page.nextOffset());
+    }
+
+    @Test
+    void search_offsetPastTheLastHit_returnsTheTotal_withoutLoadingRows() {
+        when(index.search(1L, "report", 40, 100)).thenReturn(new TaskSearchIndex.Hits(List.of(), 5));
+
+        TaskSearchResponse page = service.search(1L, "report", 40, 500);
+
+        assertTrue(page.items().isEmpty());
+        assertEquals(5, page.total());
+        assertNull(page.nextOffset());
+        verify(tasks, never()).findResponses(any(), any());
+    }
+
+    @Test
+    void search_rejectsBlankQueries_andBadPaging() {
+        assertThrows(IllegalArgumentException.class, () -> service.search(1L, " ", 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.search(1L, "report", -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.search(1L, "report", 0, 0));
+        verify(index, never()).search(any(), anyString(), anyInt(), anyInt());
+    }
+
+    private static TaskResponse task(Long id) {
+        return new TaskResponse(id, "report " + id, null, TaskStatus.INPROGRESS, 0L, null);
+    }
+}
@@ -1,21 +1,38 @@
 package com.example.Task.Manage.service;
 
 
+import com.example.Task.Manage.DTOs.Request.TaskBatchRequest;
+import com.example.Task.Manage.DTOs.Request.TaskStatusChange;
+import com.example.Task.Manage.DTOs.Request.UpdateTaskStatusRequest;
+import com.example.Task.Manage.DTOs.Response.TaskBatchResponse;
+import com.example.Task.Manage.DTOs.Response.TaskPageResponse;
+import com.example.Task.Manage.Enum.BatchItemStatus;
+import com.example.Task.Manage.exception.ConflictException;
+import com.example.Task.Manage.exception.NotFoundException;
 import com.example.Task.Manage.DTOs.Response.TaskResponse;
 import com.example.Task.Manage.Enum.TaskStatus;
 import com.example.Task.Manage.model.Task;
 import com.example.Task.Manage.DTOs.Request.TaskRequest;
 import com.example.Task.Manage.model.User;
 import com.example.Task.Manage.repository.TaskRepository;
+import com.example.Task.Manage.repository.TaskTombstoneRepository;
 import com.example.Task.Manage.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +43,9 @@ class TaskServiceTest {
     
     @Mock
     UserRepository userRepository;
+    @Mock TaskTombstoneRepository tombstones;
+    @Mock TaskStatsService taskStats;
+    @Mock ApplicationEventPublisher events;
     @InjectMocks TaskService service;
 
     @Test
@@ -36,14 +56,82 @@ class TaskServiceTest {
                 .id(42L).title("t").description("d").status(TaskStatus.INPROGRESS).owner(owner)
                 .build();
         
-        when(userRepository.findByEmail(userEmail)).thenReturn(java.util.Optional.of(owner));
+        when(userRepository.getReferenceById(1L)).thenReturn(owner);
         when(tasks.save(any(Task.class))).thenReturn(saved);
 
         TaskRequest request = new TaskRequest("t", "d", null);
-        TaskResponse resp = service.create(userEmail, request);
+        TaskResponse resp = service.create(1L, request);
 
         assertEquals(42L, resp.id());
         assertEquals("t", resp.title());
         assertEquals(TaskStatus.INPROGRESS, resp.status());
     }
+
+    @Test
+    void list_returnsPageWithNextCursor_whenMoreRowsExist() {
+        List<TaskResponse> rows = List.of(
+                new TaskResponse(5L, "a", null, TaskStatus.DONE, 0L, null),
+                new TaskResponse(7L, "b", null, TaskStatus.DONE, 0L, null),
+                new TaskResponse(9L, "c", null, TaskStatus.DONE, 0L, null));
+
+        when(tasks.findPageByStatus(eq(1L), eq(TaskStatus.DONE), eq(3L), eq(Limit.of(3)))).thenReturn(rows);
+
+        TaskPageResponse page = service.list(1L, TaskStatus.DONE, 3L, 2);
+
+        assertEquals(2, page.items().size());
+        assertEquals(7L, page.nextCursor());
+    }
+
+    @Test
+    void applyBatch_reportsPerItemResults() {
+        var owner = User.builder().id(1L).email("test@example.com").passwordHash("p").build();
+        var existing = Task.builder().id(10L).title("x").status(TaskStatus.INPROGRESS).owner(owner).build();
+
+        when(userRepository.getReferenceById(1L)).thenReturn(owner);
+        when(tasks.saveAll(anyList())).thenAnswer(inv -> {
+            List<Task> toSave = inv.getArgument(0);
+            toSave.forEach(t -> t.setId(100L));
+            return toSave;
+        });
+        when(tasks.findByOwnerIdAndIdIn(1L, List.of(10L, 11L))).thenReturn(List.of(existing));
+        when(tasks.lockOwned(1L, List.of(12L))).thenReturn(List.of());
+
+        TaskBatchResponse resp = service.applyBatch(1L, new TaskBatchRequest(
+                List.of(new TaskRequest("new", null, null)),
+                List.of(new TaskStatusChange(10L, TaskStatus.DONE), new TaskStatusChange(11L, TaskStatus.DONE)),
+                List.of(12L)));
+
+        assertEquals(100L, resp.created().get(0).id());
+        assertEquals(TaskStatus.DONE, existing.getStatus());
+        assertEquals(BatchItemStatus.UPDATED, resp.updated().get(0).status());
+        assertEquals(BatchItemStatus.NOT_FOUND, resp.updated().get(1).status());
+        assertEquals(BatchItemStatus.NOT_FOUND, resp.deleted().get(0).status());
+        verify(tasks).deleteAllInBatch(argThat(deleted -> !deleted.iterator().hasNext()));
+    }
+
+    @Test
+    void changeStatus_movesCountersFromMatchedStatus() {
+        when(tasks.updateStatus(eq(1L), eq(5L), eq(TaskStatus.INPROGRESS), eq(TaskStatus.DONE), any())).thenReturn(1);
+
+        service.changeStatus(1L, 5L, TaskStatus.DONE, null);
+
+        verify(taskStats).add(1L, TaskStatus.INPROGRESS, -1);
+        verify(taskStats).add(1L, TaskStatus.DONE, 1);
+    }
+
+    @Test
+    void updateStatus_staleVersion_throwsConflict() {
+        when(tasks.updateStatusIfVersion(eq(1L), eq(5L), any(), eq(TaskStatus.DONE), eq(3L), any())).thenReturn(0);
+        when(tasks.existsByIdAndOwnerId(5L, 1L)).thenReturn(true);
+
+        assertThrows(ConflictException.class,
+                () -> service.updateStatus(1L, 5L, new UpdateTaskStatusRequest(TaskStatus.DONE, 3L)));
+    }
+
+    @Test
+    void delete_ofForeignOrMissingTask_throwsNotFound() {
+        when(tasks.deleteOwned(eq(1L), eq(5L), any())).thenReturn(0);
+
+        assertThrows(NotFoundException.class, () -> service.delete(1L, 5L));
+    }
 }
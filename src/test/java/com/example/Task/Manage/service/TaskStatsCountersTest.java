@@ -0,0 +1,77 @@
+package com.example.Task.Manage.service;
+
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.model.User;
+import com.example.Task.Manage.repository.TaskStatRepository;
+import com.example.Task.Manage.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Counter upserts on H2 (MERGE), where two first writes of one counter would both try to insert it. */
+@DataJpaTest
+@Import(TaskStatsService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskStatsCountersTest {
+
+    @Autowired TaskStatsService service;
+    @Autowired TaskStatRepository stats;
+    @Autowired UserRepository users;
+    @Autowired PlatformTransactionManager txManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = users.save(User.builder()
+                .email("stats-" + UUID.randomUUID() + "@example.com").name("Stats").passwordHash("x").build()).getId();
+    }
+
+    @Test
+    void concurrentFirstWrites_ofARegisteredUser_bothLand() throws Exception {
+        service.createCounters(userId);
+        var tx = new TransactionTemplate(txManager);
+        var added = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> tx.executeWithoutResult(s -> {
+            service.add(userId, TaskStatus.DONE, 1);
+            added.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(added.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> tx.executeWithoutResult(
+                s -> service.add(userId, TaskStatus.DONE, 1)));
+        Thread.sleep(300);
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, service.stats(userId).counts().get(TaskStatus.DONE));
+    }
+
+    @Test
+    void reconcile_writesZeroCountersForUsersWithoutTasks() {
+        service.reconcile();
+
+        assertEquals(TaskStatus.values().length, stats.findByUserId(userId).size());
+        assertTrue(stats.findByUserId(userId).stream().allMatch(stat -> stat.getTaskCount() == 0));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.Task.Manage.service;
+
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.repository.TaskStatRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatsServiceTest {
+
+    @Mock TaskStatRepository stats;
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS) DataSource dataSource;
+
+    @Test
+    void onPostgres_countersUseOnConflictUpsert() throws Exception {
+        when(dataSource.getConnection().getMetaData().getDatabaseProductName()).thenReturn("PostgreSQL");
+        var service = new TaskStatsService(stats, dataSource);
+
+        service.apply(1L, Map.of(TaskStatus.DONE, 2L, TaskStatus.INPROGRESS, 0L));
+
+        verify(stats).addOnConflict(1L, "DONE", 2L);
+        verify(stats, never()).addOnConflict(1L, "INPROGRESS", 0L);
+        verify(stats, never()).addByMerge(any(), any(), anyLong());
+    }
+
+    @Test
+    void onH2_countersUseMerge() throws Exception {
+        when(dataSource.getConnection().getMetaData().getDatabaseProductName()).thenReturn("H2");
+        var service = new TaskStatsService(stats, dataSource);
+
+        service.add(1L, TaskStatus.DONE, -1);
+
+        verify(stats).addByMerge(1L, "DONE", -1L);
+        verify(stats, never()).addOnConflict(any(), any(), anyLong());
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.Task.Manage.service;
+
+import com.example.Task.Manage.DTOs.Response.TaskChangesResponse;
+import com.example.Task.Manage.DTOs.Response.TaskResponse;
+import com.example.Task.Manage.Enum.TaskStatus;
+import com.example.Task.Manage.exception.SyncTokenExpiredException;
+import com.example.Task.Manage.model.Task;
+import com.example.Task.Manage.model.TaskTombstone;
+import com.example.Task.Manage.model.User;
+import com.example.Task.Manage.repository.TaskRepository;
+import com.example.Task.Manage.repository.TaskTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TaskSyncServiceTest {
+
+    private static final long SETTLE_MILLIS = 60_000;
+    private static final long RETENTION_MILLIS = 86_400_000;
+
+    @Autowired TaskRepository tasks;
+    @Autowired TaskTombstoneRepository tombstones;
+    @Autowired TestEntityManager em;
+
+    private TaskSyncService sync;
+    private User owner;
+    private Instant at;
+
+    @BeforeEach
+    void setUp() {
+        sync = new TaskSyncService(tasks, tombstones, SETTLE_MILLIS, RETENTION_MILLIS);
+        owner = new User();
+        owner.setEmail("sync@example.com");
+        owner.setName("Sync");
+        owner.setPasswordHash("x");
+        em.persist(owner);
+        at = Task.now().minus(1, ChronoUnit.HOURS);
+    }
+
+    @Test
+    void changesAndDeletions_atTheSameMicrosecond_comeInIdOrder_oneEntryPerPage() {
+        Task a = task("a", at);
+        Task b = task("b", at);
+        Task c = task("c", at);
+        Task later = task("later", at.plus(1, ChronoUnit.MICROS));
+        delete(b, at);
+
+        TaskChangesResponse p1 = sync.changes(owner.getId(), null, 1);
+        TaskChangesResponse p2 = sync.changes(owner.getId(), p1.nextToken(), 1);
+        TaskChangesResponse p3 = sync.changes(owner.getId(), p2.nextToken(), 1);
+        TaskChangesResponse p4 = sync.changes(owner.getId(), p3.nextToken(), 1);
+        TaskChangesResponse p5 = sync.changes(owner.getId(), p4.nextToken(), 1);
+
+        assertEquals(List.of(a.getId()), ids(p1.changed()));
+        assertEquals(List.of(b.getId()), p2.deleted());
+        assertTrue(p2.changed().isEmpty());
+        assertEquals(List.of(c.getId()), ids(p3.changed()));
+        assertEquals(List.of(later.getId()), ids(p4.changed()));
+        assertTrue(p1.hasMore() && p2.hasMore() && p3.hasMore());
+        assertFalse(p4.hasMore(), "size + 1 fetch sees that nothing follows the last entry");
+        assertTrue(p5.changed().isEmpty() && p5.deleted().isEmpty());
+        assertFalse(p5.hasMore());
+    }
+
+    @Test
+    void pageBoundary_exactlyLimitEntries_hasNoMore_oneMore_has() {
+        Task a = task("a", at);
+        Task b = task("b", at.plusMillis(1));
+        Task c = task("c", at.plusMillis(2));
+        delete(c, at.plusMillis(3));
+
+        TaskChangesResponse all = sync.changes(owner.getId(), null, 3);
+        TaskChangesResponse cut = sync.changes(owner.getId(), null, 2);
+
+        assertEquals(List.of(a.getId(), b.getId()), ids(all.changed()));
+        assertEquals(List.of(c.getId()), all.deleted());
+        assertFalse(all.hasMore());
+        assertEquals(List.of(a.getId(), b.getId()), ids(cut.changed()));
+        assertTrue(cut.deleted().isEmpty());
+        assertTrue(cut.hasMore());
+        assertEquals(new TaskSyncService.SyncToken(b.getUpdatedAt(), b.getId()),
+                TaskSyncService.SyncToken.decode(cut.nextToken()));
+    }
+
+    @Test
+    void changesInsideTheSettleWindow_waitForTheNextCall_andAreNotSkipped() {
+        Task settled = task("settled", at);
+        Task recent = task("recent", Task.now());
+
+        TaskChangesResponse first = sync.changes(owner.getId(), null, 10);
+
+        assertEquals(List.of(settled.getId()), ids(first.changed()));
+        assertFalse(first.hasMore());
+        // With nothing more to return, next moves up to the horizon: past `settled`, still before `recent`.
+        Instant next = TaskSyncService.SyncToken.decode(first.nextToken()).at();
+        assertTrue(next.isAfter(settled.getUpdatedAt()));
+        assertTrue(next.isBefore(recent.getUpdatedAt()));
+
+        TaskSyncService settledLater = new TaskSyncService(tasks, tombstones, 0, RETENTION_MILLIS);
+        assertEquals(List.of(recent.getId()), ids(settledLater.changes(owner.getId(), first.nextToken(), 10).changed()));
+    }
+
+    @Test
+    void tokenOlderThanTombstoneRetention_isRejected() {
+        String expired = new TaskSyncService.SyncToken(Task.now().minusMillis(RETENTION_MILLIS + 1_000), 0L).encode();
+        String recent = new TaskSyncService.SyncToken(Task.now().minusMillis(RETENTION_MILLIS - 60_000), 0L).encode();
+
+        assertThrows(SyncTokenExpiredException.class, () -> sync.changes(owner.getId(), expired, 10));
+        assertDoesNotThrow(() -> sync.changes(owner.getId(), recent, 10));
+        assertDoesNotThrow(() -> sync.changes(owner.getId(), null, 10), "a first sync has no token to expire");
+    }
+
+    @Test
+    void token_roundTripsAtMicrosecondPrecision_andRejectsGarbage() {
+        var token = new TaskSyncService.SyncToken(Instant.parse("2024-10-17T10:15:30.123456Z"), 42L);
+
+        String encoded = token.encode();
+
+        assertEquals(token, TaskSyncService.SyncToken.decode(encoded));
+        assertEquals("1729160130123456:42", new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.US_ASCII));
+        assertFalse(encoded.contains("=") || encoded.contains("+") || encoded.contains("/"));
+        for (String bad : List.of("%%%", b64("no-separator"), b64("abc:1"), b64("1:xyz"), b64(":"))) {
+            assertThrows(IllegalArgumentException.class, () -> sync.changes(owner.getId(), bad, 10), bad);
+        }
+    }
+
+    private Task task(String title, Instant updatedAt) {
+        Task t = Task.builder().title(title).status(TaskStatus.INPROGRESS).owner(owner).build();
+        em.persist(t);
+        em.flush();
+        // @PrePersist stamps the current time; pin the timestamp the test needs.
+        em.getEntityManager().createQuery("update Task t set t.updatedAt = :at where t.id = :id")
+                .setParameter("at", updatedAt).setParameter("id", t.getId()).executeUpdate();
+        em.clear();
+        t.setUpdatedAt(updatedAt);
+        owner = em.find(User.class, owner.getId());
+        return t;
+    }
+
+    private void delete(Task t, Instant deletedAt) {
+        em.getEntityManager().createQuery("delete from Task t where t.id = :id").setParameter("id", t.getId()).executeUpdate();
+        em.persistAndFlush(new TaskTombstone(t.getId(), owner.getId(), deletedAt));
+    }
+
+    private static List<Long> ids(List<TaskResponse> changed) {
+        return changed.stream().map(TaskResponse::id).toList();
+    }
+
+    private static String b64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+}